@@ -0,0 +1,180 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.view.View.MeasureSpec;
+
+import com.yanzhenjie.wheel.adapters.AsyncWheelAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks rows of a wheel whose items are loaded by an {@link AsyncWheelAdapter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class AsyncWheelAdapterTest {
+
+    private static final int WHEEL_WIDTH = 240;
+    private static final int ITEM_HEIGHT = 40;
+    private static final int VISIBLE_ITEMS = 5;
+    private static final int ITEMS_COUNT = 10;
+    private static final String PLACEHOLDER = "loading";
+
+    private Context context;
+    private QueueExecutor executor;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        executor = new QueueExecutor();
+    }
+
+    @Test
+    public void loadedItemAboveFirstItem() {
+        WheelView wheel = createWheel(new ItemsAdapter(context, executor));
+
+        // the last item is drawn above the first one
+        assertTrue(draw(wheel).contains(PLACEHOLDER));
+
+        executor.runAll();
+        List<String> texts = draw(wheel);
+        assertTrue(texts.contains("item 9"));
+        assertTrue(texts.contains("item 0"));
+        assertFalse(texts.contains(PLACEHOLDER));
+    }
+
+    @Test
+    public void failedLoadIsRetried() {
+        ItemsAdapter adapter = new ItemsAdapter(context, executor);
+        adapter.failures = 1;
+
+        assertEquals(PLACEHOLDER, adapter.getItemText(3));
+        executor.runAll();
+        assertFalse(adapter.isItemLoaded(3));
+
+        assertEquals(PLACEHOLDER, adapter.getItemText(3));
+        executor.runAll();
+        assertTrue(adapter.isItemLoaded(3));
+        assertEquals("item 3", adapter.getItemText(3));
+    }
+
+    /**
+     * Creates measured and laid out cyclic wheel drawing text on the canvas
+     *
+     * @param adapter the wheel adapter
+     * @return the wheel
+     */
+    private WheelView createWheel(AsyncWheelAdapter<?> adapter) {
+        WheelView wheel = new WheelView(context);
+        wheel.setVisibleItems(VISIBLE_ITEMS);
+        wheel.setCanvasTextMode(true);
+        wheel.setTextLayoutCacheEnabled(true);
+        wheel.setFixedItemSize(WHEEL_WIDTH, ITEM_HEIGHT);
+        wheel.setAdapter(adapter);
+        wheel.setCyclic(true);
+        wheel.setCurrentItem(0);
+
+        wheel.measure(MeasureSpec.makeMeasureSpec(WHEEL_WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(VISIBLE_ITEMS * ITEM_HEIGHT, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, wheel.getMeasuredWidth(), wheel.getMeasuredHeight());
+        return wheel;
+    }
+
+    /**
+     * Draws the wheel
+     *
+     * @param wheel the wheel
+     * @return the drawn texts
+     */
+    private static List<String> draw(WheelView wheel) {
+        RecordingCanvas canvas = new RecordingCanvas();
+        wheel.draw(canvas);
+        return canvas.texts;
+    }
+
+    /**
+     * Executor running the queued loads on demand
+     */
+    private static class QueueExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        /**
+         * Runs the queued loads and delivers their results
+         */
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+    }
+
+    /**
+     * Adapter loading texts of items
+     */
+    private static class ItemsAdapter extends AsyncWheelAdapter<String> {
+
+        // count of loads which throw
+        int failures;
+
+        ItemsAdapter(Context context, Executor executor) {
+            super(context, executor);
+            setPlaceholder(PLACEHOLDER);
+        }
+
+        @Override
+        protected String loadItem(int index) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Item " + index + " is not available");
+            }
+            return "item " + index;
+        }
+
+        @Override
+        protected CharSequence getItemText(int index, String item) {
+            return item;
+        }
+
+        @Override
+        public int getItemsCount() {
+            return ITEMS_COUNT;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal benchmark harness. An operation is warmed up, then timed in several rounds;
+ * the results are printed and appended to {@code build/reports/benchmark/results.csv},
+ * so a run can be compared against a baseline run.
+ */
+final class Benchmark {
+
+    /**
+     * Benchmarked operation
+     */
+    interface Operation {
+        /**
+         * Runs the operation once
+         *
+         * @param iteration the iteration number
+         * @return any value depending on the work done, it is consumed to keep the work alive
+         */
+        int run(int iteration);
+    }
+
+    /**
+     * Count of rounds run before measuring
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Count of measured rounds
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * Report file
+     */
+    private static final String REPORT_FILE = "build/reports/benchmark/results.csv";
+
+    // Consumes results of operations
+    private static volatile int sink;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Measures the operation and reports the time per operation
+     *
+     * @param name       the benchmark name
+     * @param iterations the count of operations in a round
+     * @param operation  the operation
+     */
+    static void measure(String name, int iterations, Operation operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(iterations, operation);
+        }
+
+        double[] nanosPerOp = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            nanosPerOp[round] = (double) runRound(iterations, operation) / iterations;
+        }
+        Arrays.sort(nanosPerOp);
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= ROUNDS;
+        double median = nanosPerOp[ROUNDS / 2];
+        double min = nanosPerOp[0];
+        double max = nanosPerOp[ROUNDS - 1];
+
+        System.out.println(String.format(Locale.US, "%-40s median %12.1f ns/op  mean %12.1f  min %12.1f  max %12.1f",
+                name, median, mean, min, max));
+        report(String.format(Locale.US, "%s,%.1f,%.1f,%.1f,%.1f", name, median, mean, min, max));
+    }
+
+    /**
+     * Runs one round
+     *
+     * @param iterations the count of operations
+     * @param operation  the operation
+     * @return the duration of round in nanoseconds
+     */
+    private static long runRound(int iterations, Operation operation) {
+        int result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            result += operation.run(i);
+        }
+        long duration = System.nanoTime() - start;
+        sink += result;
+        return duration;
+    }
+
+    /**
+     * Appends a line to the report file
+     *
+     * @param line the report line
+     */
+    private static void report(String line) {
+        File file = new File(REPORT_FILE);
+        boolean isNew = !file.exists();
+        if (isNew && !file.getParentFile().mkdirs() && !file.getParentFile().isDirectory()) {
+            return;
+        }
+        Writer writer = null;
+        try {
+            writer = new FileWriter(file, true);
+            if (isNew) {
+                writer.write("benchmark,median_ns,mean_ns,min_ns,max_ns\n");
+            }
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            System.err.println("Failed to write benchmark report: " + e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
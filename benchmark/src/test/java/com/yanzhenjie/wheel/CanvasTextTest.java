@@ -0,0 +1,165 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.view.View.MeasureSpec;
+
+import com.yanzhenjie.wheel.adapters.AbstractWheelTextAdapter;
+import com.yanzhenjie.wheel.adapters.WheelTextAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the text drawn by a wheel in canvas text mode with cached text layouts.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class CanvasTextTest {
+
+    private static final int WHEEL_WIDTH = 240;
+    private static final int ITEM_HEIGHT = 40;
+    private static final int VISIBLE_ITEMS = 5;
+    private static final int ITEMS_COUNT = 10;
+
+    private TextAdapter adapter;
+    private WheelView wheel;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.application;
+        adapter = new TextAdapter(context, ITEMS_COUNT);
+        wheel = new WheelView(context);
+        wheel.setVisibleItems(VISIBLE_ITEMS);
+        wheel.setCanvasTextMode(true);
+        wheel.setTextLayoutCacheEnabled(true);
+        wheel.setFixedItemSize(WHEEL_WIDTH, ITEM_HEIGHT);
+        wheel.setAdapter(adapter);
+        wheel.setCyclic(true);
+        wheel.setCurrentItem(0);
+
+        wheel.measure(MeasureSpec.makeMeasureSpec(WHEEL_WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(VISIBLE_ITEMS * ITEM_HEIGHT, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, wheel.getMeasuredWidth(), wheel.getMeasuredHeight());
+    }
+
+    @Test
+    public void changedItemAcrossWrapPoint() {
+        // the last item is drawn above the first one
+        assertTrue(draw().contains("item 9"));
+
+        adapter.setText(9, "changed");
+        List<String> texts = draw();
+        assertTrue(texts.contains("changed"));
+        assertFalse(texts.contains("item 9"));
+
+        // the same item below the last one
+        wheel.setCurrentItem(9);
+        texts = draw();
+        assertEquals(1, count(texts, "changed"));
+        assertTrue(texts.contains("item 0"));
+
+        adapter.setText(0, "first");
+        texts = draw();
+        assertTrue(texts.contains("first"));
+        assertFalse(texts.contains("item 0"));
+    }
+
+    @Test
+    public void changedTextWithoutNotification() {
+        assertTrue(draw().contains("item 1"));
+
+        adapter.setTextSilently(1, "silent");
+        List<String> texts = draw();
+        assertTrue(texts.contains("silent"));
+        assertFalse(texts.contains("item 1"));
+    }
+
+    /**
+     * Draws the wheel
+     *
+     * @return the drawn texts
+     */
+    private List<String> draw() {
+        RecordingCanvas canvas = new RecordingCanvas();
+        wheel.draw(canvas);
+        return canvas.texts;
+    }
+
+    /**
+     * Counts occurrences of the text
+     *
+     * @param texts the drawn texts
+     * @param text  the text to count
+     * @return the count
+     */
+    private static int count(List<String> texts, String text) {
+        int count = 0;
+        for (String drawn : texts) {
+            if (drawn.equals(text)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Text adapter whose texts can be changed
+     */
+    private static class TextAdapter extends AbstractWheelTextAdapter implements WheelTextAdapter {
+
+        private final String[] texts;
+
+        TextAdapter(Context context, int count) {
+            super(context);
+            texts = new String[count];
+            for (int i = 0; i < count; i++) {
+                texts[i] = "item " + i;
+            }
+        }
+
+        void setText(int index, String text) {
+            texts[index] = text;
+            notifyItemChanged(index);
+        }
+
+        void setTextSilently(int index, String text) {
+            texts[index] = text;
+        }
+
+        @Override
+        public CharSequence getItemText(int index) {
+            return texts[index];
+        }
+
+        @Override
+        public int getItemsCount() {
+            return texts.length;
+        }
+    }
+}
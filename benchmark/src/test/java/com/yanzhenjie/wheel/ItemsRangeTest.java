@@ -0,0 +1,140 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.view.View.MeasureSpec;
+
+import com.yanzhenjie.wheel.adapters.NumericWheelAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the closed form of {@link WheelView#getItemsRange()} against the loop it replaced.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class ItemsRangeTest {
+
+    private static final int WHEEL_WIDTH = 240;
+    private static final int ITEM_HEIGHT = 40;
+    private static final int ITEMS_COUNT = 10;
+    private static final int[] VISIBLE_ITEMS = {1, 2, 5};
+    private static final int[] WHEEL_HEIGHTS = {1, 10, 39, 40, 41, 79, 80, 81, 120, 200, 399};
+
+    @Test
+    public void notCyclic() {
+        checkRanges(false);
+    }
+
+    @Test
+    public void cyclic() {
+        checkRanges(true);
+    }
+
+    /**
+     * Scrolls wheels pixel by pixel in both directions from the first, a middle and the last item,
+     * past the ends of a not cyclic wheel, and compares the ranges after every step
+     *
+     * @param cyclic true to check cyclic wheels
+     */
+    private void checkRanges(boolean cyclic) {
+        int[] startItems = {0, ITEMS_COUNT / 2, ITEMS_COUNT - 1};
+        for (int visibleItems : VISIBLE_ITEMS) {
+            for (int height : WHEEL_HEIGHTS) {
+                for (int startItem : startItems) {
+                    for (int direction = -1; direction <= 1; direction += 2) {
+                        WheelView wheel = createWheel(visibleItems, height, cyclic, startItem);
+                        int steps = height + 3 * ITEM_HEIGHT;
+                        for (int step = 0; step <= steps; step++) {
+                            if (step > 0) {
+                                wheel.scrollingListener.onScroll(direction);
+                            }
+                            String message = "cyclic " + cyclic + ", visible items " + visibleItems
+                                    + ", height " + height + ", start item " + startItem
+                                    + ", scrolled " + step * direction + ", current item " + wheel.getCurrentItem()
+                                    + ", offset " + wheel.getScrollingOffset();
+                            checkRange(message, wheel);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the range of the wheel with the range computed by the former loop
+     *
+     * @param message the failure message
+     * @param wheel   the wheel
+     */
+    private static void checkRange(String message, WheelView wheel) {
+        int itemHeight = ITEM_HEIGHT;
+        int first = wheel.getCurrentItem();
+        int count = 1;
+
+        while (count * itemHeight < wheel.getHeight()) {
+            first--;
+            count += 2; // top + bottom items
+        }
+
+        int scrollingOffset = wheel.getScrollingOffset();
+        if (scrollingOffset != 0) {
+            if (scrollingOffset > 0) {
+                first--;
+            }
+            count++;
+
+            // process empty items above the first or below the second
+            int emptyItems = scrollingOffset / itemHeight;
+            first -= emptyItems;
+            count += Math.asin(emptyItems);
+        }
+
+        ItemsRange range = wheel.getItemsRange();
+        assertEquals(message + ": first", first, range.getFirst());
+        assertEquals(message + ": count", count, range.getCount());
+    }
+
+    /**
+     * Creates measured and laid out wheel of items with fixed height
+     *
+     * @param visibleItems the count of visible items
+     * @param height       the wheel height
+     * @param cyclic       true for cyclic wheel
+     * @param currentItem  the current item
+     * @return the wheel
+     */
+    private static WheelView createWheel(int visibleItems, int height, boolean cyclic, int currentItem) {
+        WheelView wheel = new WheelView(RuntimeEnvironment.application);
+        wheel.setVisibleItems(visibleItems);
+        wheel.setFixedItemSize(WHEEL_WIDTH, ITEM_HEIGHT);
+        wheel.setAdapter(new NumericWheelAdapter(RuntimeEnvironment.application, 0, ITEMS_COUNT - 1));
+        wheel.setCyclic(cyclic);
+        wheel.setCurrentItem(currentItem);
+
+        wheel.measure(MeasureSpec.makeMeasureSpec(WHEEL_WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, wheel.getMeasuredWidth(), wheel.getMeasuredHeight());
+        return wheel;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Canvas recording the drawn texts
+ */
+class RecordingCanvas extends Canvas {
+
+    final List<String> texts = new ArrayList<>();
+
+    @Override
+    public boolean getClipBounds(Rect bounds) {
+        // layouts draw only the lines within the clip
+        if (bounds != null) {
+            bounds.set(-10000, -10000, 10000, 10000);
+        }
+        return true;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        texts.add(new String(text, index, count));
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        texts.add(text);
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        texts.add(text.substring(start, end));
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        texts.add(text.subSequence(start, end).toString());
+    }
+
+    @Override
+    public void drawTextRun(char[] text, int index, int count, int contextIndex, int contextCount,
+                            float x, float y, boolean isRtl, Paint paint) {
+        texts.add(new String(text, index, count));
+    }
+
+    @Override
+    public void drawTextRun(CharSequence text, int start, int end, int contextStart, int contextEnd,
+                            float x, float y, boolean isRtl, Paint paint) {
+        texts.add(text.subSequence(start, end).toString());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import com.yanzhenjie.wheel.adapters.AbstractWheelTextAdapter;
+import com.yanzhenjie.wheel.adapters.WheelTextAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks configuring of recycled text views by {@link AbstractWheelTextAdapter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class TextAdapterTest {
+
+    private static final int SELECTED_COLOR = 0xFFFF0000;
+    private static final int ITEM_COLOR = 0xFF0000FF;
+
+    private Context context;
+    private ViewGroup parent;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        parent = new LinearLayout(context);
+    }
+
+    @Test
+    public void recycledViewIsConfiguredForEveryItem() {
+        SelectionAdapter adapter = new SelectionAdapter(context, false);
+        adapter.selected = 1;
+
+        TextView view = (TextView) adapter.getItem(1, null, parent);
+        assertEquals(SELECTED_COLOR, view.getCurrentTextColor());
+
+        assertSame(view, adapter.getItem(2, view, parent));
+        assertEquals(ITEM_COLOR, view.getCurrentTextColor());
+
+        assertSame(view, adapter.getItem(1, view, parent));
+        assertEquals(SELECTED_COLOR, view.getCurrentTextColor());
+        assertEquals(3, adapter.configured);
+    }
+
+    @Test
+    public void stableConfigurationIsNotRepeated() {
+        SelectionAdapter adapter = new SelectionAdapter(context, true);
+
+        View view = adapter.getItem(1, null, parent);
+        adapter.getItem(2, view, parent);
+        adapter.getItem(3, view, parent);
+        assertEquals(1, adapter.configured);
+
+        // changed text settings configure the view again
+        adapter.setTextSize(AbstractWheelTextAdapter.DEFAULT_TEXT_SIZE + 2);
+        adapter.getItem(4, view, parent);
+        assertEquals(2, adapter.configured);
+    }
+
+    /**
+     * Adapter coloring the selected item differently
+     */
+    private static class SelectionAdapter extends AbstractWheelTextAdapter implements WheelTextAdapter {
+
+        private final boolean isStable;
+        private int boundIndex;
+        int selected = -1;
+        int configured;
+
+        SelectionAdapter(Context context, boolean isStable) {
+            super(context);
+            this.isStable = isStable;
+        }
+
+        @Override
+        public View getItem(int index, View convertView, ViewGroup parent) {
+            boundIndex = index;
+            return super.getItem(index, convertView, parent);
+        }
+
+        @Override
+        protected boolean isTextViewConfigurationStable() {
+            return isStable;
+        }
+
+        @Override
+        protected void configureTextView(TextView view) {
+            super.configureTextView(view);
+            view.setTextColor(boundIndex == selected ? SELECTED_COLOR : ITEM_COLOR);
+            configured++;
+        }
+
+        @Override
+        public CharSequence getItemText(int index) {
+            return "item " + index;
+        }
+
+        @Override
+        public int getItemsCount() {
+            return 10;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.view.View.MeasureSpec;
+
+import com.yanzhenjie.wheel.adapters.VirtualWheelAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks a not cyclic wheel showing cyclic positions of a {@link VirtualWheelAdapter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class VirtualWheelAdapterTest {
+
+    private static final int WHEEL_WIDTH = 240;
+    private static final int ITEM_HEIGHT = 40;
+    private static final int VISIBLE_ITEMS = 5;
+    private static final int HOURS = 24;
+
+    private HoursAdapter adapter;
+    private WheelView wheel;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.application;
+        adapter = new HoursAdapter(context);
+        adapter.setPositionsCyclic(true);
+        wheel = new WheelView(context);
+        wheel.setVisibleItems(VISIBLE_ITEMS);
+        wheel.setFixedItemSize(WHEEL_WIDTH, ITEM_HEIGHT);
+        wheel.setAdapter(adapter);
+
+        wheel.measure(MeasureSpec.makeMeasureSpec(WHEEL_WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(VISIBLE_ITEMS * ITEM_HEIGHT, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, wheel.getMeasuredWidth(), wheel.getMeasuredHeight());
+    }
+
+    @Test
+    public void scrollBackwardsFromInitialPosition() {
+        wheel.setCurrentPosition(5, false);
+        assertEquals(5, wheel.getCurrentPosition());
+        int start = wheel.getCurrentItem();
+
+        // scroll 10 items towards the top
+        wheel.scrollingListener.onScroll(10 * ITEM_HEIGHT);
+        assertEquals(start - 10, wheel.getCurrentItem());
+        assertEquals(19, wheel.getCurrentPosition());
+    }
+
+    @Test
+    public void animateToNeighbouringPositions() {
+        wheel.setCurrentPosition(22, false);
+        int start = wheel.getCurrentItem();
+
+        animateTo(23);
+        assertEquals(start + 1, wheel.getCurrentItem());
+
+        // the next position is after the wrap point
+        animateTo(0);
+        assertEquals(start + 2, wheel.getCurrentItem());
+
+        animateTo(23);
+        assertEquals(start + 1, wheel.getCurrentItem());
+    }
+
+    /**
+     * Animates the wheel to the position and checks it is reached by scrolling
+     *
+     * @param position the position
+     */
+    private void animateTo(long position) {
+        int item = wheel.getCurrentItem();
+        wheel.setCurrentPosition(position, true);
+        // the wheel scrolls instead of jumping
+        assertEquals(item, wheel.getCurrentItem());
+
+        ShadowLooper.idleMainLooper(2, TimeUnit.SECONDS);
+        assertEquals(position, wheel.getCurrentPosition());
+    }
+
+    /**
+     * Adapter of hours of a day
+     */
+    private static class HoursAdapter extends VirtualWheelAdapter {
+
+        HoursAdapter(Context context) {
+            super(context);
+        }
+
+        @Override
+        public long getPositionsCount() {
+            return HOURS;
+        }
+
+        @Override
+        protected CharSequence getPositionText(long position) {
+            return String.valueOf(position);
+        }
+    }
+}
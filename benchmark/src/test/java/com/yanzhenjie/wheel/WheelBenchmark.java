@@ -0,0 +1,236 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View.MeasureSpec;
+import android.widget.LinearLayout;
+
+import com.yanzhenjie.wheel.adapters.ArrayWheelAdapter;
+import com.yanzhenjie.wheel.adapters.NumericWheelAdapter;
+import com.yanzhenjie.wheel.benchmark.BuildConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+/**
+ * Benchmarks of the wheel hot paths. Run with {@code ./gradlew :benchmark:testReleaseUnitTest -PrunBenchmarks}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class WheelBenchmark {
+
+    private static final int DEF_VISIBLE_ITEMS = 7;
+    private static final int WHEEL_WIDTH = 240;
+    private static final int ITEM_HEIGHT = 40;
+    private static final int[] VISIBLE_ITEMS = {5, 7, 11};
+    private static final int FRAME_MILLIS = 16;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void doScroll() {
+        final WheelView wheel = createWheel(DEF_VISIBLE_ITEMS, false);
+        Benchmark.measure("WheelView.doScroll (1px)", 100000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                wheel.scrollingListener.onScroll(1);
+                return wheel.getCurrentItem();
+            }
+        });
+    }
+
+    @Test
+    public void getItemsRange() {
+        final WheelView wheel = createWheel(DEF_VISIBLE_ITEMS, false);
+        Benchmark.measure("WheelView.getItemsRange", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return wheel.getItemsRange().getCount();
+            }
+        });
+    }
+
+    @Test
+    public void recycleItems() {
+        WheelView wheel = createWheel(DEF_VISIBLE_ITEMS, false);
+        final WheelRecycle recycle = new WheelRecycle(wheel);
+        final NumericWheelAdapter adapter = (NumericWheelAdapter) wheel.getViewAdapter();
+        final LinearLayout layout = new LinearLayout(context);
+        final ItemsRange emptyRange = new ItemsRange();
+        final int count = DEF_VISIBLE_ITEMS + 2;
+        for (int i = 0; i < count; i++) {
+            layout.addView(adapter.getItem(i, null, layout));
+        }
+
+        Benchmark.measure("WheelRecycle.recycleItems (+rebind)", 10000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                int first = recycle.recycleItems(layout, 0, emptyRange);
+                for (int i = 0; i < count; i++) {
+                    layout.addView(adapter.getItem(i, recycle.getItem(0, i), layout));
+                }
+                return first;
+            }
+        });
+    }
+
+    @Test
+    public void numericItemText() {
+        final NumericWheelAdapter minutes = new NumericWheelAdapter(context, 0, 59, "%02d");
+        Benchmark.measure("NumericWheelAdapter.getItemText %02d", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return minutes.getItemText(iteration % 60).length();
+            }
+        });
+
+        final NumericWheelAdapter large = new NumericWheelAdapter(context, 0, 99999, "%05d");
+        Benchmark.measure("NumericWheelAdapter.getItemText large", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return large.getItemText(iteration % 100000).length();
+            }
+        });
+
+        final NumericWheelAdapter padded = new NumericWheelAdapter(context, 0, 59, "%3d");
+        Benchmark.measure("NumericWheelAdapter.getItemText %3d", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return padded.getItemText(iteration % 60).length();
+            }
+        });
+    }
+
+    @Test
+    public void arrayItemText() {
+        String[] texts = new String[100];
+        Integer[] values = new Integer[100];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = "Item " + i;
+            values[i] = i * 1000;
+        }
+
+        final ArrayWheelAdapter<String> textAdapter = new ArrayWheelAdapter<>(context, texts);
+        Benchmark.measure("ArrayWheelAdapter.getItemText String", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return textAdapter.getItemText(iteration % 100).length();
+            }
+        });
+
+        final ArrayWheelAdapter<Integer> valueAdapter = new ArrayWheelAdapter<>(context, values);
+        Benchmark.measure("ArrayWheelAdapter.getItemText Integer", 1000000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                return valueAdapter.getItemText(iteration % 100).length();
+            }
+        });
+    }
+
+    @Test
+    public void flingPhysics() {
+        measureFling("FrictionPhysics", new FrictionPhysics());
+        measureFling("SpringPhysics", new SpringPhysics());
+        measureFling("SpringPhysics (bouncy)", new SpringPhysics(FrictionPhysics.DEFAULT_FRICTION,
+                SpringPhysics.DEFAULT_STIFFNESS, 0.5f));
+    }
+
+    /**
+     * Measures computing a snapped fling frame by frame
+     *
+     * @param name    the physics name
+     * @param physics the physics
+     */
+    private void measureFling(String name, final FlingPhysics physics) {
+        Benchmark.measure(name + " fling", 10000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                float velocity = 1000 + iteration % 4000;
+                float distance = Math.round(physics.getFlingDistance(velocity) / ITEM_HEIGHT) * ITEM_HEIGHT;
+                long duration = physics.getDuration(distance, velocity);
+                int position = 0;
+                for (long time = 0; time < duration; time += FRAME_MILLIS) {
+                    position += Math.round(physics.getPosition(distance, velocity, time));
+                }
+                return position + (int) duration;
+            }
+        });
+    }
+
+    @Test
+    public void onDraw() {
+        for (int visibleItems : VISIBLE_ITEMS) {
+            measureDraw(visibleItems, false);
+            measureDraw(visibleItems, true);
+        }
+    }
+
+    /**
+     * Measures scrolling by 3 pixels and drawing the whole wheel
+     *
+     * @param visibleItems   the count of visible items
+     * @param canvasTextMode true to draw text on the canvas
+     */
+    private void measureDraw(int visibleItems, boolean canvasTextMode) {
+        final WheelView wheel = createWheel(visibleItems, canvasTextMode);
+        final Canvas[] canvas = {new Canvas()};
+        String name = "WheelView.onDraw " + visibleItems + " items" + (canvasTextMode ? " (canvas text)" : "");
+        Benchmark.measure(name, 5000, new Benchmark.Operation() {
+            @Override
+            public int run(int iteration) {
+                // the canvas records draw calls, do not let it grow
+                if (iteration % 256 == 0) {
+                    canvas[0] = new Canvas();
+                }
+                wheel.scrollingListener.onScroll(3);
+                wheel.draw(canvas[0]);
+                return wheel.getCurrentItem();
+            }
+        });
+    }
+
+    /**
+     * Creates measured and laid out cyclic wheel of minutes
+     *
+     * @param visibleItems   the count of visible items
+     * @param canvasTextMode true to draw text on the canvas
+     * @return the wheel
+     */
+    private WheelView createWheel(int visibleItems, boolean canvasTextMode) {
+        WheelView wheel = new WheelView(context);
+        wheel.setVisibleItems(visibleItems);
+        wheel.setCanvasTextMode(canvasTextMode);
+        wheel.setAdapter(new NumericWheelAdapter(context, 0, 59, "%02d"));
+        wheel.setCyclic(true);
+        wheel.setCurrentItem(30);
+
+        wheel.measure(MeasureSpec.makeMeasureSpec(WHEEL_WIDTH, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(visibleItems * ITEM_HEIGHT, MeasureSpec.EXACTLY));
+        wheel.layout(0, 0, wheel.getMeasuredWidth(), wheel.getMeasuredHeight());
+        return wheel;
+    }
+}
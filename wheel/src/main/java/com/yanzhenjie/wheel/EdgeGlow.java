@@ -0,0 +1,131 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.widget.EdgeEffect;
+
+/**
+ * Glows shown when a not cyclic wheel is pulled or flung against its first or last item.
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+class EdgeGlow {
+
+    private final EdgeEffect topEdge;
+    private final EdgeEffect bottomEdge;
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     */
+    EdgeGlow(Context context) {
+        topEdge = new EdgeEffect(context);
+        bottomEdge = new EdgeEffect(context);
+    }
+
+    /**
+     * Tests whether glows are supported by the platform
+     *
+     * @return true if glows can be created
+     */
+    static boolean isSupported() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH;
+    }
+
+    /**
+     * Pulls the glow of the edge the wheel is dragged past
+     *
+     * @param distance the dragged distance, positive past the first item
+     * @param height   the wheel height
+     */
+    void onPull(int distance, int height) {
+        if (height == 0) {
+            return;
+        }
+        if (distance > 0) {
+            topEdge.onPull((float) distance / height);
+        } else {
+            bottomEdge.onPull((float) -distance / height);
+        }
+    }
+
+    /**
+     * Lets the glow of the edge the wheel is flung against absorb the fling velocity
+     *
+     * @param velocity the velocity in pixels per second, positive against the first item
+     */
+    void onAbsorb(int velocity) {
+        if (velocity > 0) {
+            topEdge.onAbsorb(velocity);
+        } else if (velocity < 0) {
+            bottomEdge.onAbsorb(-velocity);
+        }
+    }
+
+    /**
+     * Releases pulled glows
+     */
+    void onRelease() {
+        topEdge.onRelease();
+        bottomEdge.onRelease();
+    }
+
+    /**
+     * Finishes glows immediately
+     */
+    void finish() {
+        topEdge.finish();
+        bottomEdge.finish();
+    }
+
+    /**
+     * Tests whether both glows are finished
+     *
+     * @return true if nothing is to be drawn
+     */
+    boolean isFinished() {
+        return topEdge.isFinished() && bottomEdge.isFinished();
+    }
+
+    /**
+     * Draws glows
+     *
+     * @param canvas the canvas for drawing
+     * @param width  the wheel width
+     * @param height the wheel height
+     * @return true if glows are animated and have to be drawn again
+     */
+    boolean draw(Canvas canvas, int width, int height) {
+        boolean animating = false;
+        if (!topEdge.isFinished()) {
+            topEdge.setSize(width, height);
+            animating = topEdge.draw(canvas);
+        }
+        if (!bottomEdge.isFinished()) {
+            canvas.save();
+            canvas.translate(width, height);
+            canvas.rotate(180);
+            bottomEdge.setSize(width, height);
+            animating |= bottomEdge.draw(canvas);
+            canvas.restore();
+        }
+        return animating;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Fling motion runs the fling physics frame by frame, the motion stops early when it reaches a bound.
+ */
+final class FlingMotion {
+
+    // Motion
+    private FlingPhysics physics;
+    private float distance;
+    private float velocity;
+    private int minOffset;
+    private int maxOffset;
+    private long startTime;
+    private long duration;
+
+    // State
+    private long elapsed;
+    private int offset;
+    private boolean isFinished = true;
+
+    /**
+     * Starts the motion
+     *
+     * @param physics   the fling physics
+     * @param distance  the distance the motion comes to rest at
+     * @param velocity  the initial velocity in pixels per second
+     * @param minOffset the lowest offset, a motion with negative velocity stops when it reaches it
+     * @param maxOffset the greatest offset, a motion with positive velocity stops when it reaches it
+     * @param startTime the start time in milliseconds
+     */
+    void start(FlingPhysics physics, float distance, float velocity, int minOffset, int maxOffset, long startTime) {
+        this.physics = physics;
+        this.distance = distance;
+        this.velocity = velocity;
+        this.minOffset = minOffset;
+        this.maxOffset = maxOffset;
+        this.startTime = startTime;
+        duration = physics.getDuration(distance, velocity);
+        elapsed = 0;
+        offset = 0;
+        isFinished = false;
+    }
+
+    /**
+     * Computes offset of the motion at the time
+     *
+     * @param time the time in milliseconds
+     * @return true if the motion was running
+     */
+    boolean computeOffset(long time) {
+        if (isFinished) {
+            return false;
+        }
+        elapsed = Math.max(0, time - startTime);
+        if (elapsed >= duration) {
+            offset = Math.round(distance);
+            isFinished = true;
+        } else {
+            offset = Math.round(physics.getPosition(distance, velocity, elapsed));
+        }
+        // only the bound ahead stops the motion, it may start on the bound behind
+        if (velocity < 0 && offset <= minOffset) {
+            offset = minOffset;
+            isFinished = true;
+        } else if (velocity > 0 && offset >= maxOffset) {
+            offset = maxOffset;
+            isFinished = true;
+        }
+        return true;
+    }
+
+    /**
+     * Gets offset computed for the last time
+     *
+     * @return the offset
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets velocity of the motion at the time the offset was computed for the last time
+     *
+     * @return the velocity in pixels per second
+     */
+    float getVelocity() {
+        if (physics == null || elapsed >= duration) {
+            return 0;
+        }
+        long next = Math.min(duration, elapsed + 1);
+        return (physics.getPosition(distance, velocity, next) - physics.getPosition(distance, velocity, elapsed))
+                * 1000 / (next - elapsed);
+    }
+
+    /**
+     * Gets offset the motion comes to rest at
+     *
+     * @return the final offset
+     */
+    int getFinalOffset() {
+        int finalOffset = Math.round(distance);
+        if (velocity < 0) {
+            return Math.max(minOffset, finalOffset);
+        }
+        if (velocity > 0) {
+            return Math.min(maxOffset, finalOffset);
+        }
+        return finalOffset;
+    }
+
+    /**
+     * Tests whether the motion is finished
+     *
+     * @return true if the motion is finished
+     */
+    boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Finishes the motion where it is
+     */
+    void forceFinished() {
+        isFinished = true;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Fling physics decides how far a fling goes and how the wheel moves while it is flung.
+ * <p>Implementations do not depend on the platform, a fling is computed the same way on every device
+ * and in a plain JVM.</p>
+ */
+public interface FlingPhysics {
+
+    /**
+     * Gets distance a fling goes when nothing stops it
+     *
+     * @param velocity the initial velocity in pixels per second
+     * @return the distance in pixels
+     */
+    float getFlingDistance(float velocity);
+
+    /**
+     * Gets duration of a motion which starts with the velocity and comes to rest at the distance
+     *
+     * @param distance the distance in pixels, it may differ from the fling distance if the fling is snapped
+     * @param velocity the initial velocity in pixels per second
+     * @return the duration in milliseconds
+     */
+    long getDuration(float distance, float velocity);
+
+    /**
+     * Gets position of a motion which starts with the velocity and comes to rest at the distance
+     *
+     * @param distance the distance in pixels
+     * @param velocity the initial velocity in pixels per second
+     * @param time     the time since the motion started in milliseconds, not greater than the duration
+     * @return the position in pixels
+     */
+    float getPosition(float distance, float velocity, long time);
+}
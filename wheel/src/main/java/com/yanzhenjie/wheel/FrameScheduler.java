@@ -0,0 +1,228 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Frame scheduler calls the registered callbacks once per display frame until they are stopped.
+ * It is driven by {@link Choreographer} on Jelly Bean and later, and by a delayed handler message
+ * on older platforms.
+ */
+abstract class FrameScheduler {
+
+    /**
+     * Frame callback interface
+     */
+    interface FrameCallback {
+        /**
+         * Called once per frame while the callback is started.
+         *
+         * @param frameTimeNanos the frame time in nanoseconds
+         */
+        void doFrame(long frameTimeNanos);
+    }
+
+    /**
+     * Creates a scheduler for the current platform. Must be called on a looper thread.
+     *
+     * @return the new scheduler
+     */
+    static FrameScheduler create() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerScheduler();
+        }
+        return new HandlerScheduler();
+    }
+
+    // Schedulers shared by the wheels of a thread
+    private static final ThreadLocal<FrameScheduler> sDefaultSchedulers = new ThreadLocal<>();
+
+    /**
+     * Gets scheduler shared by the wheels of the current thread. Must be called on a looper thread.
+     *
+     * @return the shared scheduler
+     */
+    static FrameScheduler getDefault() {
+        FrameScheduler scheduler = sDefaultSchedulers.get();
+        if (scheduler == null) {
+            scheduler = create();
+            sDefaultSchedulers.set(scheduler);
+        }
+        return scheduler;
+    }
+
+    // Registered callbacks
+    private FrameCallback[] callbacks = new FrameCallback[1];
+    private int count;
+
+    // Callbacks being dispatched
+    private FrameCallback[] dispatching = new FrameCallback[1];
+
+    // Frame posted flag
+    private boolean isFramePosted;
+
+    /**
+     * Starts calling specified callback on every frame. Does nothing if it is already started.
+     *
+     * @param callback the callback
+     */
+    void start(FrameCallback callback) {
+        if (isStarted(callback)) {
+            return;
+        }
+        if (count == callbacks.length) {
+            FrameCallback[] grown = new FrameCallback[count * 2];
+            System.arraycopy(callbacks, 0, grown, 0, count);
+            callbacks = grown;
+        }
+        callbacks[count++] = callback;
+
+        if (!isFramePosted) {
+            isFramePosted = true;
+            postFrame();
+        }
+    }
+
+    /**
+     * Stops calling specified callback.
+     *
+     * @param callback the callback
+     */
+    void stop(FrameCallback callback) {
+        for (int i = 0; i < count; i++) {
+            if (callbacks[i] == callback) {
+                System.arraycopy(callbacks, i + 1, callbacks, i, count - i - 1);
+                callbacks[--count] = null;
+                break;
+            }
+        }
+
+        if (count == 0 && isFramePosted) {
+            isFramePosted = false;
+            removeFrame();
+        }
+    }
+
+    /**
+     * Tests whether specified callback is started
+     *
+     * @param callback the callback
+     * @return true if the callback is called on every frame
+     */
+    boolean isStarted(FrameCallback callback) {
+        for (int i = 0; i < count; i++) {
+            if (callbacks[i] == callback) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls all started callbacks and schedules the next frame if any callback is still started.
+     *
+     * @param frameTimeNanos the frame time in nanoseconds
+     */
+    void dispatchFrame(long frameTimeNanos) {
+        isFramePosted = false;
+
+        int dispatchCount = count;
+        if (dispatching.length < dispatchCount) {
+            dispatching = new FrameCallback[callbacks.length];
+        }
+        System.arraycopy(callbacks, 0, dispatching, 0, dispatchCount);
+        for (int i = 0; i < dispatchCount; i++) {
+            FrameCallback callback = dispatching[i];
+            dispatching[i] = null;
+            // a callback may stop another one during this frame
+            if (isStarted(callback)) {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+
+        if (count > 0 && !isFramePosted) {
+            isFramePosted = true;
+            postFrame();
+        }
+    }
+
+    /**
+     * Requests the next frame
+     */
+    abstract void postFrame();
+
+    /**
+     * Cancels the requested frame
+     */
+    abstract void removeFrame();
+
+    /**
+     * Scheduler driven by the display vsync
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class ChoreographerScheduler extends FrameScheduler implements Choreographer.FrameCallback {
+
+        private final Choreographer choreographer = Choreographer.getInstance();
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            dispatchFrame(frameTimeNanos);
+        }
+
+        @Override
+        void postFrame() {
+            choreographer.postFrameCallback(this);
+        }
+
+        @Override
+        void removeFrame() {
+            choreographer.removeFrameCallback(this);
+        }
+    }
+
+    /**
+     * Scheduler for platforms without {@link Choreographer}
+     */
+    private static class HandlerScheduler extends FrameScheduler implements Runnable {
+
+        /**
+         * Delay between frames
+         */
+        private static final long FRAME_DELAY = 10;
+
+        private final Handler handler = new Handler();
+
+        @Override
+        public void run() {
+            dispatchFrame(SystemClock.uptimeMillis() * 1000000L);
+        }
+
+        @Override
+        void postFrame() {
+            handler.postDelayed(this, FRAME_DELAY);
+        }
+
+        @Override
+        void removeFrame() {
+            handler.removeCallbacks(this);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Fling physics where the velocity decays exponentially with the friction, the same way as in the platform
+ * fling animation. A snapped fling starts with the velocity that brings it to rest at the snapped distance.
+ */
+public class FrictionPhysics implements FlingPhysics {
+
+    /**
+     * Default friction
+     */
+    public static final float DEFAULT_FRICTION = 1f;
+
+    /**
+     * Deceleration rate per second of the friction 1
+     */
+    private static final float DECELERATION_RATE = 4.2f;
+
+    /**
+     * Distance from the rest position at which a motion is finished
+     */
+    static final float SETTLED_DISTANCE = 0.5f;
+
+    // Deceleration rate per second
+    private final float rate;
+
+    /**
+     * Constructor
+     */
+    public FrictionPhysics() {
+        this(DEFAULT_FRICTION);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param friction the friction, greater values stop flings sooner
+     */
+    public FrictionPhysics(float friction) {
+        if (friction <= 0) {
+            throw new IllegalArgumentException("Friction must be greater than 0.");
+        }
+        rate = friction * DECELERATION_RATE;
+    }
+
+    @Override
+    public float getFlingDistance(float velocity) {
+        return velocity / rate;
+    }
+
+    @Override
+    public long getDuration(float distance, float velocity) {
+        if (Math.abs(distance) <= SETTLED_DISTANCE) {
+            return 0;
+        }
+        return (long) Math.ceil(Math.log(Math.abs(distance) / SETTLED_DISTANCE) / rate * 1000);
+    }
+
+    @Override
+    public float getPosition(float distance, float velocity, long time) {
+        return (float) (distance * (1 - Math.exp(-rate * time / 1000.0)));
+    }
+}
@@ -44,6 +44,17 @@ public class ItemsRange {
         this.count = count;
     }
 
+    /**
+     * Updates the range, so it is reused instead of allocating a new one
+     *
+     * @param first the number of first item
+     * @param count the count of items
+     */
+    void set(int first, int count) {
+        this.first = first;
+        this.count = count;
+    }
+
     /**
      * Gets number of  first item
      *
@@ -0,0 +1,31 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Wheel metrics listener interface.
+ * <p>The onMetrics() method is called with aggregated metrics when scrolling is finished
+ * and after every batch of drawn frames.
+ */
+public interface OnWheelMetricsListener {
+    /**
+     * Callback method to be invoked when a batch of metrics is collected
+     *
+     * @param wheel   the wheel view whose metrics are reported
+     * @param metrics the metrics collected since the previous report, it is reused after the callback returns
+     */
+    void onMetrics(WheelView wheel, WheelMetrics metrics);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Fling physics where the fling distance is given by friction and the wheel is pulled to it by a damped spring.
+ * The spring keeps the velocity the fling starts with, a snapped fling does not change its speed when it
+ * starts. A damping ratio below 1 lets the wheel swing past the item and settle back on it.
+ */
+public class SpringPhysics extends FrictionPhysics {
+
+    /**
+     * Default spring stiffness
+     */
+    public static final float DEFAULT_STIFFNESS = 64f;
+
+    /**
+     * Default damping ratio, the spring does not swing
+     */
+    public static final float DEFAULT_DAMPING_RATIO = 1f;
+
+    /**
+     * Longest motion
+     */
+    private static final long MAX_DURATION = 10000;
+
+    /**
+     * Step the duration is searched with
+     */
+    private static final long DURATION_STEP = 4;
+
+    // Spring
+    private final double naturalFrequency;
+    private final double dampingRatio;
+
+    /**
+     * Constructor
+     */
+    public SpringPhysics() {
+        this(DEFAULT_FRICTION, DEFAULT_STIFFNESS, DEFAULT_DAMPING_RATIO);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param friction     the friction the fling distance is computed with
+     * @param stiffness    the spring stiffness, greater values settle sooner
+     * @param dampingRatio the damping ratio, 1 for a spring which does not swing
+     */
+    public SpringPhysics(float friction, float stiffness, float dampingRatio) {
+        super(friction);
+        if (stiffness <= 0) {
+            throw new IllegalArgumentException("Stiffness must be greater than 0.");
+        }
+        if (dampingRatio <= 0) {
+            throw new IllegalArgumentException("Damping ratio must be greater than 0.");
+        }
+        this.naturalFrequency = Math.sqrt(stiffness);
+        this.dampingRatio = dampingRatio;
+    }
+
+    @Override
+    public long getDuration(float distance, float velocity) {
+        for (long time = 0; time < MAX_DURATION; time += DURATION_STEP) {
+            if (getAmplitude(-distance, velocity, time / 1000.0) <= SETTLED_DISTANCE) {
+                return time;
+            }
+        }
+        return MAX_DURATION;
+    }
+
+    @Override
+    public float getPosition(float distance, float velocity, long time) {
+        return (float) (distance + getDisplacement(-distance, velocity, time / 1000.0));
+    }
+
+    /**
+     * Gets displacement of the spring from its rest position
+     *
+     * @param start    the displacement at start
+     * @param velocity the velocity at start
+     * @param time     the time in seconds
+     * @return the displacement
+     */
+    private double getDisplacement(double start, double velocity, double time) {
+        double omega = naturalFrequency;
+        double zeta = dampingRatio;
+        if (zeta < 1) {
+            double dampedOmega = omega * Math.sqrt(1 - zeta * zeta);
+            double b = (velocity + zeta * omega * start) / dampedOmega;
+            return Math.exp(-zeta * omega * time) * (start * Math.cos(dampedOmega * time) + b * Math.sin(dampedOmega * time));
+        } else if (zeta == 1) {
+            double b = velocity + omega * start;
+            return (start + b * time) * Math.exp(-omega * time);
+        } else {
+            double root = omega * Math.sqrt(zeta * zeta - 1);
+            double r1 = -zeta * omega + root;
+            double r2 = -zeta * omega - root;
+            double c2 = (velocity - r1 * start) / (r2 - r1);
+            double c1 = start - c2;
+            return c1 * Math.exp(r1 * time) + c2 * Math.exp(r2 * time);
+        }
+    }
+
+    /**
+     * Gets the greatest displacement the spring can have from the time on
+     *
+     * @param start    the displacement at start
+     * @param velocity the velocity at start
+     * @param time     the time in seconds
+     * @return the amplitude
+     */
+    private double getAmplitude(double start, double velocity, double time) {
+        double omega = naturalFrequency;
+        double zeta = dampingRatio;
+        if (zeta < 1) {
+            double dampedOmega = omega * Math.sqrt(1 - zeta * zeta);
+            double b = (velocity + zeta * omega * start) / dampedOmega;
+            return Math.exp(-zeta * omega * time) * Math.sqrt(start * start + b * b);
+        } else if (zeta == 1) {
+            double b = Math.abs(velocity + omega * start);
+            // the bound grows until its peak
+            if (b > 0) {
+                time = Math.max(time, 1 / omega - Math.abs(start) / b);
+            }
+            return (Math.abs(start) + b * time) * Math.exp(-omega * time);
+        } else {
+            double root = omega * Math.sqrt(zeta * zeta - 1);
+            double r1 = -zeta * omega + root;
+            double r2 = -zeta * omega - root;
+            double c2 = (velocity - r1 * start) / (r2 - r1);
+            double c1 = start - c2;
+            return Math.abs(c1) * Math.exp(r1 * time) + Math.abs(c2) * Math.exp(r2 * time);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+/**
+ * Least recently used cache of text layouts keyed by item index. A layout is built again when the text
+ * of its item is changed. The cache must be cleared when the text style changes.
+ */
+final class TextLayoutCache {
+
+    // Cached layouts
+    private int[] indexes;
+    private CharSequence[] texts;
+    private Layout[] layouts;
+    private int[] lastUses;
+    private int size;
+
+    // Access clock
+    private int clock;
+
+    /**
+     * Constructor
+     *
+     * @param capacity the maximum count of cached layouts
+     */
+    TextLayoutCache(int capacity) {
+        indexes = new int[capacity];
+        texts = new CharSequence[capacity];
+        layouts = new Layout[capacity];
+        lastUses = new int[capacity];
+    }
+
+    /**
+     * Gets the maximum count of cached layouts
+     *
+     * @return the capacity
+     */
+    int getCapacity() {
+        return layouts.length;
+    }
+
+    /**
+     * Gets layout for the item, creates and caches it if necessary
+     *
+     * @param index the item index, wrapped into the range of items
+     * @param text  the item text
+     * @param paint the text paint
+     * @param width the layout width
+     * @return the text layout
+     */
+    Layout get(int index, CharSequence text, TextPaint paint, int width) {
+        for (int i = 0; i < size; i++) {
+            if (indexes[i] == index) {
+                lastUses[i] = ++clock;
+                if (!TextUtils.equals(texts[i], text)) {
+                    texts[i] = text;
+                    layouts[i] = makeLayout(text, paint, width);
+                }
+                return layouts[i];
+            }
+        }
+
+        Layout layout = makeLayout(text, paint, width);
+        int slot = size;
+        if (size < layouts.length) {
+            size++;
+        } else {
+            // evict the least recently used layout
+            slot = 0;
+            for (int i = 1; i < size; i++) {
+                if (lastUses[i] < lastUses[slot]) {
+                    slot = i;
+                }
+            }
+        }
+        indexes[slot] = index;
+        texts[slot] = text;
+        layouts[slot] = layout;
+        lastUses[slot] = ++clock;
+        return layout;
+    }
+
+    /**
+     * Creates layout of the text
+     *
+     * @param text  the item text
+     * @param paint the text paint
+     * @param width the layout width
+     * @return the text layout
+     */
+    private static Layout makeLayout(CharSequence text, TextPaint paint, int width) {
+        BoringLayout.Metrics metrics = BoringLayout.isBoring(text, paint);
+        if (metrics != null) {
+            return BoringLayout.make(text, paint, width, Layout.Alignment.ALIGN_CENTER, 1, 0, metrics, true);
+        }
+        return new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_CENTER, 1, 0, true);
+    }
+
+    /**
+     * Removes cached layouts of the items
+     *
+     * @param start the index of the first item
+     * @param count the count of items
+     */
+    void remove(int start, int count) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (indexes[i] >= start && indexes[i] - start < count) {
+                continue;
+            }
+            indexes[kept] = indexes[i];
+            texts[kept] = texts[i];
+            layouts[kept] = layouts[i];
+            lastUses[kept] = lastUses[i];
+            kept++;
+        }
+        for (int i = kept; i < size; i++) {
+            texts[i] = null;
+            layouts[i] = null;
+        }
+        size = kept;
+    }
+
+    /**
+     * Removes all cached layouts
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            texts[i] = null;
+            layouts[i] = null;
+        }
+        size = 0;
+    }
+}
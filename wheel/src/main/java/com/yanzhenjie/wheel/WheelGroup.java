@@ -0,0 +1,197 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.widget.LinearLayout;
+
+import com.yanzhenjie.wheel.adapters.AbstractWheelAdapter;
+import com.yanzhenjie.wheel.adapters.AbstractWheelTextAdapter;
+import com.yanzhenjie.wheel.adapters.WheelViewAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Horizontal layout hosting linked wheels of a picker, for example year, month and day of a date picker.
+ * <p>All wheels of the group are animated by one frame callback, so wheels scrolling at the same time are
+ * scrolled and drawn in the same frame. Wheels share one cache of item views if their adapters opt in with
+ * equal keys, see {@link com.yanzhenjie.wheel.adapters.AbstractWheelAdapter#setViewPoolKey(Object)}.</p>
+ * <p>Dependent ranges are changed through the adapters, for example
+ * {@link com.yanzhenjie.wheel.adapters.NumericWheelAdapter#setMaxValue(int)} on the day wheel when the month
+ * changes. Only the added or removed items are rebuilt and the current day is kept.</p>
+ */
+public class WheelGroup extends LinearLayout {
+
+    // Frame callback shared by wheels
+    private final FrameScheduler frameScheduler;
+
+    // Cached views shared by wheels with the same kind of adapter
+    private final Map<Object, WheelRecycle.Pool> pools = new HashMap<>();
+
+    // Linked wheels
+    private final List<WheelView> wheels = new ArrayList<>();
+
+    // Hierarchy listener set by the user
+    private OnHierarchyChangeListener hierarchyListener;
+
+    public WheelGroup(Context context) {
+        this(context, null);
+    }
+
+    public WheelGroup(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        setOrientation(HORIZONTAL);
+        frameScheduler = FrameScheduler.create();
+        super.setOnHierarchyChangeListener(childListener);
+    }
+
+    // Links wheels added to the group in any way and unlinks removed wheels
+    private OnHierarchyChangeListener childListener = new OnHierarchyChangeListener() {
+        @Override
+        public void onChildViewAdded(View parent, View child) {
+            if (child instanceof WheelView) {
+                linkWheel((WheelView) child);
+            }
+            if (hierarchyListener != null) {
+                hierarchyListener.onChildViewAdded(parent, child);
+            }
+        }
+
+        @Override
+        public void onChildViewRemoved(View parent, View child) {
+            if (child instanceof WheelView) {
+                unlinkWheel((WheelView) child);
+            }
+            if (hierarchyListener != null) {
+                hierarchyListener.onChildViewRemoved(parent, child);
+            }
+        }
+    };
+
+    @Override
+    public void setOnHierarchyChangeListener(OnHierarchyChangeListener listener) {
+        hierarchyListener = listener;
+    }
+
+    /**
+     * Adds the wheel to the end of group, all wheels of the group have the same width
+     *
+     * @param wheel the wheel
+     */
+    public void addWheel(WheelView wheel) {
+        addView(wheel, new LayoutParams(0, LayoutParams.WRAP_CONTENT, 1));
+    }
+
+    /**
+     * Removes the wheel from group
+     *
+     * @param wheel the wheel
+     */
+    public void removeWheel(WheelView wheel) {
+        removeView(wheel);
+    }
+
+    /**
+     * Gets count of wheels in group
+     *
+     * @return the count of wheels
+     */
+    public int getWheelCount() {
+        return wheels.size();
+    }
+
+    /**
+     * Gets the wheel
+     *
+     * @param index the wheel index
+     * @return the wheel
+     */
+    public WheelView getWheelAt(int index) {
+        return wheels.get(index);
+    }
+
+    /**
+     * Sets count of visible items of all wheels
+     *
+     * @param count the desired count for visible items
+     */
+    public void setVisibleItems(int count) {
+        for (int i = 0; i < wheels.size(); i++) {
+            wheels.get(i).setVisibleItems(count);
+        }
+    }
+
+    /**
+     * Links the wheel with other wheels of group
+     */
+    private void linkWheel(WheelView wheel) {
+        if (!wheels.contains(wheel)) {
+            wheels.add(wheel);
+            wheel.setWheelGroup(this);
+        }
+    }
+
+    /**
+     * Unlinks the wheel removed from group
+     */
+    private void unlinkWheel(WheelView wheel) {
+        if (wheels.remove(wheel)) {
+            wheel.setWheelGroup(null);
+        }
+    }
+
+    /**
+     * Gets scheduler shared by wheels
+     *
+     * @return the scheduler
+     */
+    FrameScheduler getFrameScheduler() {
+        return frameScheduler;
+    }
+
+    /**
+     * Gets pool of cached views shared by wheels whose adapters have equal keys
+     *
+     * @param adapter the adapter of wheel
+     * @return the pool, or null if the adapter does not share views
+     */
+    WheelRecycle.Pool getPool(WheelViewAdapter adapter) {
+        if (!(adapter instanceof AbstractWheelAdapter) || ((AbstractWheelAdapter) adapter).getViewPoolKey() == null) {
+            return null;
+        }
+
+        Object key = ((AbstractWheelAdapter) adapter).getViewPoolKey();
+        if (adapter instanceof AbstractWheelTextAdapter) {
+            // views of text adapters with other resources differ whatever the key is
+            AbstractWheelTextAdapter textAdapter = (AbstractWheelTextAdapter) adapter;
+            key = Arrays.asList(key, textAdapter.getItemResource(), textAdapter.getItemTextResource(),
+                    textAdapter.getEmptyItemResource());
+        }
+
+        WheelRecycle.Pool pool = pools.get(key);
+        if (pool == null) {
+            pool = new WheelRecycle.Pool();
+            pools.put(key, pool);
+        }
+        return pool;
+    }
+}
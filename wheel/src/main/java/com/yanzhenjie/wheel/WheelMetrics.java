@@ -0,0 +1,204 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Aggregated drawing and scrolling metrics of a wheel.
+ */
+public class WheelMetrics {
+
+    // Frames
+    private int frameCount;
+    private long totalDrawNanos;
+    private long maxDrawNanos;
+
+    // Items
+    private int rebuildCount;
+    private int inflatedCount;
+    private int recycledCount;
+
+    // Scrolling
+    private int flingCount;
+    private long totalFlingMillis;
+    private int overscrollStopCount;
+
+    /**
+     * Gets count of drawn frames
+     *
+     * @return the count of frames
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets total time spent in onDraw
+     *
+     * @return the draw time in nanoseconds
+     */
+    public long getTotalDrawNanos() {
+        return totalDrawNanos;
+    }
+
+    /**
+     * Gets the longest onDraw
+     *
+     * @return the draw time in nanoseconds
+     */
+    public long getMaxDrawNanos() {
+        return maxDrawNanos;
+    }
+
+    /**
+     * Gets average time spent in onDraw
+     *
+     * @return the draw time in nanoseconds
+     */
+    public long getAverageDrawNanos() {
+        return frameCount != 0 ? totalDrawNanos / frameCount : 0;
+    }
+
+    /**
+     * Gets count of frames in which item views were rebuilt
+     *
+     * @return the count of rebuilds
+     */
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Gets count of item views the recycle could not provide, so the adapter had to create them
+     *
+     * @return the count of inflated views
+     */
+    public int getInflatedCount() {
+        return inflatedCount;
+    }
+
+    /**
+     * Gets count of item views reused from the recycle
+     *
+     * @return the count of recycled views
+     */
+    public int getRecycledCount() {
+        return recycledCount;
+    }
+
+    /**
+     * Gets count of finished flings
+     *
+     * @return the count of flings
+     */
+    public int getFlingCount() {
+        return flingCount;
+    }
+
+    /**
+     * Gets total duration of flings
+     *
+     * @return the duration in milliseconds
+     */
+    public long getTotalFlingMillis() {
+        return totalFlingMillis;
+    }
+
+    /**
+     * Gets count of scrolls stopped because the wheel was scrolled beyond its ends
+     *
+     * @return the count of overscroll stops
+     */
+    public int getOverscrollStopCount() {
+        return overscrollStopCount;
+    }
+
+    /**
+     * Records a drawn frame
+     *
+     * @param drawNanos the time spent in onDraw
+     * @param rebuilt   true if item views were rebuilt
+     */
+    void recordFrame(long drawNanos, boolean rebuilt) {
+        frameCount++;
+        totalDrawNanos += drawNanos;
+        if (drawNanos > maxDrawNanos) {
+            maxDrawNanos = drawNanos;
+        }
+        if (rebuilt) {
+            rebuildCount++;
+        }
+    }
+
+    /**
+     * Records a finished fling
+     *
+     * @param durationMillis the fling duration
+     */
+    void recordFling(long durationMillis) {
+        flingCount++;
+        totalFlingMillis += durationMillis;
+    }
+
+    /**
+     * Records an overscroll stop
+     */
+    void recordOverscrollStop() {
+        overscrollStopCount++;
+    }
+
+    /**
+     * Sets counts of item views taken from the adapter and from the recycle
+     *
+     * @param inflated the count of inflated views
+     * @param recycled the count of recycled views
+     */
+    void setItemViewCounts(int inflated, int recycled) {
+        inflatedCount = inflated;
+        recycledCount = recycled;
+    }
+
+    /**
+     * Tests whether anything is recorded
+     *
+     * @return true if there are no metrics
+     */
+    boolean isEmpty() {
+        return frameCount == 0 && flingCount == 0 && overscrollStopCount == 0;
+    }
+
+    /**
+     * Clears all metrics
+     */
+    void reset() {
+        frameCount = 0;
+        totalDrawNanos = 0;
+        maxDrawNanos = 0;
+        rebuildCount = 0;
+        inflatedCount = 0;
+        recycledCount = 0;
+        flingCount = 0;
+        totalFlingMillis = 0;
+        overscrollStopCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "WheelMetrics{frames=" + frameCount + ", avgDrawNanos=" + getAverageDrawNanos()
+                + ", maxDrawNanos=" + maxDrawNanos + ", rebuilds=" + rebuildCount + ", inflated=" + inflatedCount
+                + ", recycled=" + recycledCount + ", flings=" + flingCount + ", flingMillis=" + totalFlingMillis
+                + ", overscrollStops=" + overscrollStopCount + "}";
+    }
+}
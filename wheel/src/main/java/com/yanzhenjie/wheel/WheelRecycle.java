@@ -15,22 +15,49 @@
  */
 package com.yanzhenjie.wheel;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import android.view.View;
 import android.widget.LinearLayout;
 
+import com.yanzhenjie.wheel.adapters.WheelViewAdapter;
+
 /**
  * Recycle stores wheel items to reuse.
+ * Views are kept in array-backed pools, one per view type, so steady-state scrolling does not allocate.
  */
 public class WheelRecycle {
-    
-    // Cached items
-    private List<View> items;
 
-    // Cached empty items
-    private List<View> emptyItems;
+    /**
+     * Maximum count of views cached for a single view type
+     */
+    private static final int MAX_SCRAP_VIEWS = 32;
+
+    /**
+     * Maximum count of views bound ahead of time
+     */
+    private static final int MAX_PREFETCHED_VIEWS = 8;
+
+    /**
+     * Initial capacity of a pool
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * View type of empty items
+     */
+    static final int VIEW_TYPE_EMPTY = -1;
+
+    // Cached views, the pool may be shared with other wheels, created with the first cached view
+    private Pool pool;
+    private boolean isPoolShared;
+
+    // Views bound ahead of time, created with the first prefetched view
+    private View[] prefetchedViews;
+    private int[] prefetchedIndexes;
+    private int prefetchedCount;
+
+    // Statistics
+    private int hitCount;
+    private int missCount;
 
     // Wheel view
     private WheelView wheel;
@@ -72,12 +99,34 @@ public class WheelRecycle {
     }
 
     /**
-     * Gets item view
+     * Gets item view of the default type
      *
      * @return the cached view
      */
     public View getItem() {
-        return getCachedView(items);
+        return getItem(0);
+    }
+
+    /**
+     * Gets item view of specified type
+     *
+     * @param viewType the view type returned by the adapter
+     * @return the cached view
+     */
+    public View getItem(int viewType) {
+        return getCachedView(viewType, -1);
+    }
+
+    /**
+     * Gets item view of specified type. Prefers the view that showed the same item before,
+     * so it is rebound without changing its content.
+     *
+     * @param viewType the view type returned by the adapter
+     * @param index    the item index
+     * @return the cached view
+     */
+    public View getItem(int viewType, int index) {
+        return getCachedView(viewType, index);
     }
 
     /**
@@ -86,71 +135,342 @@ public class WheelRecycle {
      * @return the cached empty view
      */
     public View getEmptyItem() {
-        return getCachedView(emptyItems);
+        return getCachedView(VIEW_TYPE_EMPTY, -1);
     }
 
     /**
-     * Clears all views
+     * Remembers the type of a view, so it is recycled to the pool of this type.
+     *
+     * @param view     the view returned by the adapter
+     * @param viewType the view type
+     */
+    void setViewType(View view, int viewType) {
+        view.setTag(R.id.wheel_item_view_type, viewType);
+    }
+
+    /**
+     * Shares the pool of cached views. Views of the same type must be interchangeable between
+     * all wheels sharing the pool.
+     *
+     * @param pool the shared pool, or null to use own pool
+     */
+    void setPool(Pool pool) {
+        if (pool == null) {
+            if (isPoolShared) {
+                this.pool = null;
+                isPoolShared = false;
+            }
+        } else {
+            this.pool = pool;
+            isPoolShared = true;
+        }
+    }
+
+    /**
+     * Clears all views. Views of a shared pool are kept for other wheels.
      */
     public void clearAll() {
-        if (items != null) {
-            items.clear();
+        if (!isPoolShared && pool != null) {
+            pool.clear();
         }
-        if (emptyItems != null) {
-            emptyItems.clear();
+
+        for (int i = 0; i < prefetchedCount; i++) {
+            prefetchedViews[i] = null;
         }
+        prefetchedCount = 0;
     }
 
     /**
-     * Adds view to specified cache. Creates a cache list if it is null.
+     * Keeps a view bound ahead of time for the item
      *
-     * @param view  the view to be cached
-     * @param cache the cache list
-     * @return the cache list
+     * @param view  the bound view
+     * @param index the item index
+     * @return false if there is no room for the view
+     */
+    boolean addPrefetchedView(View view, int index) {
+        if (prefetchedCount == MAX_PREFETCHED_VIEWS) {
+            return false;
+        }
+        if (prefetchedViews == null) {
+            prefetchedViews = new View[MAX_PREFETCHED_VIEWS];
+            prefetchedIndexes = new int[MAX_PREFETCHED_VIEWS];
+        }
+        prefetchedViews[prefetchedCount] = view;
+        prefetchedIndexes[prefetchedCount] = index;
+        prefetchedCount++;
+        return true;
+    }
+
+    /**
+     * Tests whether there is room for another view bound ahead of time
+     *
+     * @return true if no more views can be kept
+     */
+    boolean isPrefetchFull() {
+        return prefetchedCount == MAX_PREFETCHED_VIEWS;
+    }
+
+    /**
+     * Tests whether a view is bound ahead of time for the item
+     *
+     * @param index the item index
+     * @return true if the view is bound
+     */
+    boolean isPrefetched(int index) {
+        for (int i = 0; i < prefetchedCount; i++) {
+            if (prefetchedIndexes[i] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the view bound ahead of time for the item
+     *
+     * @param index    the item index
+     * @param viewType the view type of the item
+     * @return the bound view or null if there is no such view
+     */
+    View takePrefetchedView(int index, int viewType) {
+        for (int i = 0; i < prefetchedCount; i++) {
+            if (prefetchedIndexes[i] == index) {
+                View view = prefetchedViews[i];
+                prefetchedCount--;
+                prefetchedViews[i] = prefetchedViews[prefetchedCount];
+                prefetchedIndexes[i] = prefetchedIndexes[prefetchedCount];
+                prefetchedViews[prefetchedCount] = null;
+
+                Object type = view.getTag(R.id.wheel_item_view_type);
+                if (type instanceof Integer && (Integer) type == viewType) {
+                    return view;
+                }
+                addView(view, type instanceof Integer ? (Integer) type : viewType, index);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves the views bound ahead of time to cache
      */
-    private List<View> addView(View view, List<View> cache) {
-        if (cache == null) {
-            cache = new LinkedList<>();
+    void recyclePrefetchedViews() {
+        for (int i = 0; i < prefetchedCount; i++) {
+            View view = prefetchedViews[i];
+            Object type = view.getTag(R.id.wheel_item_view_type);
+            addView(view, type instanceof Integer ? (Integer) type : 0, prefetchedIndexes[i]);
+            prefetchedViews[i] = null;
         }
+        prefetchedCount = 0;
+    }
 
-        cache.add(view);
-        return cache;
+    /**
+     * Gets count of views returned from cache
+     *
+     * @return the count of cache hits
+     */
+    public int getHitCount() {
+        return hitCount;
     }
 
     /**
-     * Adds view to cache. Determines view type (item view or empty one) by index.
+     * Gets count of requests the cache could not serve, so the adapter had to create a view
+     *
+     * @return the count of cache misses
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the maximum count of views cached at the same time
+     *
+     * @return the peak size of cache
+     */
+    public int getPeakSize() {
+        return pool != null ? pool.peakSize : 0;
+    }
+
+    /**
+     * Resets hit, miss and peak size statistics
+     */
+    public void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        if (pool != null) {
+            pool.peakSize = pool.size;
+        }
+    }
+
+    /**
+     * Adds view to cache of specified type
+     *
+     * @param view     the view to be cached
+     * @param viewType the view type
+     * @param index    the index of item shown by the view
+     */
+    private void addView(View view, int viewType, int index) {
+        if (pool == null) {
+            pool = new Pool();
+        }
+        pool.addView(view, viewType, index);
+    }
+
+    /**
+     * Adds view to cache. Determines view type by the type remembered for the view,
+     * or by index if it is unknown.
      *
      * @param view  the view to be cached
      * @param index the index of view
      */
-    private void recycleView(View view, int index) {
-        int count = wheel.getViewAdapter().getItemsCount();
+    void recycleView(View view, int index) {
+        WheelViewAdapter adapter = wheel.getViewAdapter();
+        int count = adapter.getItemsCount();
+        boolean isEmpty = (index < 0 || index >= count) && !wheel.isCyclic();
+        if (!isEmpty && count > 0) {
+            index = WheelView.wrapIndex(index, count);
+        }
 
-        if ((index < 0 || index >= count) && !wheel.isCyclic()) {
-            // empty view
-            emptyItems = addView(view, emptyItems);
+        Object viewType = view.getTag(R.id.wheel_item_view_type);
+        if (viewType instanceof Integer) {
+            addView(view, (Integer) viewType, index);
+        } else if (isEmpty) {
+            addView(view, VIEW_TYPE_EMPTY, index);
         } else {
-            while (index < 0) {
-                index = count + index;
-            }
-            index %= count;
-            items = addView(view, items);
+            addView(view, WheelView.getItemViewType(adapter, index), index);
         }
     }
 
     /**
-     * Gets view from specified cache.
+     * Gets view from cache of specified type.
      *
-     * @param cache the cache
-     * @return the first view from cache.
+     * @param viewType the view type
+     * @param index    the index of item to be shown, or -1 if any view fits
+     * @return the view that showed the item, or the last cached view, or null if cache is empty.
      */
-    private View getCachedView(List<View> cache) {
-        if (cache != null && cache.size() > 0) {
-            View view = cache.get(0);
-            cache.remove(0);
-            return view;
+    private View getCachedView(int viewType, int index) {
+        View view = pool != null ? pool.getView(viewType, index) : null;
+        if (view != null) {
+            hitCount++;
+        } else {
+            missCount++;
         }
-        return null;
+        return view;
     }
 
+    /**
+     * Cached views, indexed by view type + 1, empty items are at 0
+     */
+    static final class Pool {
+        // Views and the indexes of items they showed, with count of views of every type
+        private View[][] scraps = new View[2][];
+        private int[][] scrapIndexes = new int[2][];
+        private int[] scrapSizes = new int[2];
+
+        // Statistics
+        private int size;
+        private int peakSize;
+
+        /**
+         * Adds view to cache of specified type. Grows the cache up to {@link #MAX_SCRAP_VIEWS}
+         * views, the view is dropped when the cache is full.
+         *
+         * @param view     the view to be cached
+         * @param viewType the view type
+         * @param index    the index of item shown by the view
+         */
+        void addView(View view, int viewType, int index) {
+            int type = viewType + 1;
+            if (type >= scraps.length) {
+                View[][] grownScraps = new View[type + 1][];
+                System.arraycopy(scraps, 0, grownScraps, 0, scraps.length);
+                scraps = grownScraps;
+                int[][] grownIndexes = new int[type + 1][];
+                System.arraycopy(scrapIndexes, 0, grownIndexes, 0, scrapIndexes.length);
+                scrapIndexes = grownIndexes;
+                int[] grownSizes = new int[type + 1];
+                System.arraycopy(scrapSizes, 0, grownSizes, 0, scrapSizes.length);
+                scrapSizes = grownSizes;
+            }
+
+            View[] scrap = scraps[type];
+            int scrapSize = scrapSizes[type];
+            if (scrap == null || scrapSize == scrap.length) {
+                if (scrapSize >= MAX_SCRAP_VIEWS) {
+                    return;
+                }
+                int capacity = scrap == null ? INITIAL_CAPACITY : Math.min(scrapSize * 2, MAX_SCRAP_VIEWS);
+                View[] grown = new View[capacity];
+                int[] grownIndexes = new int[capacity];
+                if (scrap != null) {
+                    System.arraycopy(scrap, 0, grown, 0, scrapSize);
+                    System.arraycopy(scrapIndexes[type], 0, grownIndexes, 0, scrapSize);
+                }
+                scrap = grown;
+                scraps[type] = scrap;
+                scrapIndexes[type] = grownIndexes;
+            }
+
+            scrap[scrapSize] = view;
+            scrapIndexes[type][scrapSize] = index;
+            scrapSizes[type] = scrapSize + 1;
+            size++;
+            if (size > peakSize) {
+                peakSize = size;
+            }
+        }
+
+        /**
+         * Gets view from cache of specified type.
+         *
+         * @param viewType the view type
+         * @param index    the index of item to be shown, or -1 if any view fits
+         * @return the view that showed the item, or the last cached view, or null if cache is empty.
+         */
+        View getView(int viewType, int index) {
+            int type = viewType + 1;
+            if (type >= scraps.length) {
+                return null;
+            }
+            int scrapSize = scrapSizes[type];
+            if (scrapSize > 0) {
+                View[] scrap = scraps[type];
+                int[] indexes = scrapIndexes[type];
+                int last = --scrapSize;
+                if (index >= 0) {
+                    for (int i = 0; i < last; i++) {
+                        if (indexes[i] == index) {
+                            // move the matched view to the top
+                            View matched = scrap[i];
+                            scrap[i] = scrap[last];
+                            indexes[i] = indexes[last];
+                            scrap[last] = matched;
+                            break;
+                        }
+                    }
+                }
+                View view = scrap[last];
+                scrap[scrapSize] = null;
+                scrapSizes[type] = scrapSize;
+                size--;
+                return view;
+            }
+            return null;
+        }
+
+        /**
+         * Clears all views
+         */
+        void clear() {
+            for (int type = 0; type < scraps.length; type++) {
+                View[] scrap = scraps[type];
+                for (int i = 0; i < scrapSizes[type]; i++) {
+                    scrap[i] = null;
+                }
+                scrapSizes[type] = 0;
+            }
+            size = 0;
+        }
+    }
 }
@@ -16,8 +16,7 @@
 package com.yanzhenjie.wheel;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Message;
+import android.os.SystemClock;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.GestureDetector.SimpleOnGestureListener;
@@ -56,6 +55,52 @@ public class WheelScroller {
         void onJustify();
     }
 
+    /**
+     * Fling snapper chooses where a fling ends
+     */
+    interface FlingSnapper {
+        /**
+         * Adjusts distance of a fling, so the fling ends on an item
+         *
+         * @param distance the distance the fling is going to scroll
+         * @return the distance the fling has to scroll
+         */
+        int snapFling(int distance);
+    }
+
+    /**
+     * Fling bounds keep flings within the items of the wheel
+     */
+    interface FlingBounds {
+        /**
+         * Gets the distance to the last item
+         *
+         * @return the distance, not greater than 0
+         */
+        int getMinFlingDistance();
+
+        /**
+         * Gets the distance to the first item
+         *
+         * @return the distance, not less than 0
+         */
+        int getMaxFlingDistance();
+
+        /**
+         * Gets the greatest velocity of a fling
+         *
+         * @return the velocity in pixels per second, 0 if it is not limited
+         */
+        float getMaxFlingVelocity();
+
+        /**
+         * Called when a fling runs against a bound
+         *
+         * @param velocity the velocity in pixels per second, positive against the first item
+         */
+        void onFlingBoundReached(int velocity);
+    }
+
     /**
      * Scrolling duration
      */
@@ -66,18 +111,43 @@ public class WheelScroller {
      */
     public static final int MIN_DELTA_FOR_SCROLLING = 1;
 
+    /**
+     * Bound of a fling which is not limited
+     */
+    private static final int UNBOUNDED = 0x7FFFFFFF;
+
     // Listener
     private ScrollingListener listener;
 
     // Context
     private Context context;
 
-    // Scrolling
+    // Scrolling, the detector and the scroller are created on the first touch or scroll
     private GestureDetector gestureDetector;
     private Scroller scroller;
+    private Interpolator interpolator;
     private int lastScrollY;
+    private int lastDelta;
     private float lastTouchedY;
+    private float pendingDragDistance;
     private boolean isScrollingPerformed;
+    private FlingSnapper flingSnapper;
+    private FlingBounds flingBounds;
+    private FlingPhysics flingPhysics;
+    private final FlingMotion flingMotion = new FlingMotion();
+    private final WheelVelocityTracker velocityTracker = new WheelVelocityTracker();
+
+    // Fling
+    private long flingStartTime;
+    private long lastFlingDuration;
+    private boolean isFlingBounded;
+    private int flingBound;
+    private int flingVelocity;
+    private long lastFrameTime;
+
+    // Animation, the scheduler is the shared one unless it is set
+    private FrameScheduler frameScheduler;
+    private int animation;
 
     /**
      * Constructor
@@ -86,23 +156,96 @@ public class WheelScroller {
      * @param listener the scrolling listener
      */
     public WheelScroller(Context context, ScrollingListener listener) {
-        gestureDetector = new GestureDetector(context, gestureListener);
-        gestureDetector.setIsLongpressEnabled(false);
-
-        scroller = new Scroller(context);
-
         this.listener = listener;
         this.context = context;
     }
 
+    /**
+     * Sets scheduler the animation frames are requested from, a running animation is moved to it
+     *
+     * @param scheduler the scheduler, or null to use the scheduler shared by the wheels of the thread
+     */
+    void setFrameScheduler(FrameScheduler scheduler) {
+        boolean isAnimating = false;
+        boolean isDragging = false;
+        if (frameScheduler != null) {
+            isAnimating = frameScheduler.isStarted(frameCallback);
+            isDragging = frameScheduler.isStarted(dragCallback);
+            frameScheduler.stop(frameCallback);
+            frameScheduler.stop(dragCallback);
+        }
+        frameScheduler = scheduler;
+        if (isAnimating) {
+            getFrameScheduler().start(frameCallback);
+        }
+        if (isDragging) {
+            getFrameScheduler().start(dragCallback);
+        }
+    }
+
+    /**
+     * Gets scheduler the animation frames are requested from
+     *
+     * @return the scheduler
+     */
+    private FrameScheduler getFrameScheduler() {
+        if (frameScheduler == null) {
+            frameScheduler = FrameScheduler.getDefault();
+        }
+        return frameScheduler;
+    }
+
+    /**
+     * Gets scroller running scrolls and flings of the platform
+     *
+     * @return the scroller
+     */
+    private Scroller getScroller() {
+        if (scroller == null) {
+            scroller = new Scroller(context, interpolator);
+        }
+        return scroller;
+    }
+
+    /**
+     * Sets snapper adjusting distance of flings
+     *
+     * @param snapper the snapper, or null to fling by the velocity only
+     */
+    void setFlingSnapper(FlingSnapper snapper) {
+        flingSnapper = snapper;
+    }
+
+    /**
+     * Sets bounds flings are kept within
+     *
+     * @param bounds the bounds, or null to fling without limits
+     */
+    void setFlingBounds(FlingBounds bounds) {
+        flingBounds = bounds;
+    }
+
+    /**
+     * Sets physics flings are computed with. The velocity of a fling is then tracked by the wheel, not by the
+     * platform, and the fling is not affected by the interpolator.
+     *
+     * @param physics the physics, or null to fling with the platform scroller
+     */
+    void setFlingPhysics(FlingPhysics physics) {
+        flingPhysics = physics;
+    }
+
     /**
      * Set the the specified scrolling interpolator
      *
      * @param interpolator the interpolator
      */
     public void setInterpolator(Interpolator interpolator) {
-        scroller.forceFinished(true);
-        scroller = new Scroller(context, interpolator);
+        this.interpolator = interpolator;
+        if (scroller != null) {
+            scroller.forceFinished(true);
+            scroller = null;
+        }
     }
 
     /**
@@ -112,12 +255,14 @@ public class WheelScroller {
      * @param time     the scrolling duration
      */
     public void scroll(int distance, int time) {
-        scroller.forceFinished(true);
+        finishMotion();
 
         lastScrollY = 0;
+        flingStartTime = 0;
+        isFlingBounded = false;
 
-        scroller.startScroll(0, 0, 0, distance, time != 0 ? time : SCROLLING_DURATION);
-        setNextMessage(MESSAGE_SCROLL);
+        getScroller().startScroll(0, 0, 0, distance, time != 0 ? time : SCROLLING_DURATION);
+        startAnimation(ANIMATION_SCROLL);
 
         startScrolling();
     }
@@ -126,7 +271,8 @@ public class WheelScroller {
      * Stops scrolling
      */
     public void stopScrolling() {
-        scroller.forceFinished(true);
+        isFlingBounded = false;
+        finishMotion();
     }
 
     /**
@@ -139,21 +285,47 @@ public class WheelScroller {
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
                 lastTouchedY = event.getY();
-                scroller.forceFinished(true);
-                clearMessages();
+                pendingDragDistance = 0;
+                flingStartTime = 0;
+                isFlingBounded = false;
+                finishMotion();
+                stopAnimation();
+                stopDrag();
+                velocityTracker.clear();
+                velocityTracker.addMovement(event.getEventTime(), event.getY());
                 break;
 
             case MotionEvent.ACTION_MOVE:
-                // perform scrolling
-                int distanceY = (int) (event.getY() - lastTouchedY);
-                if (distanceY != 0) {
+                for (int i = 0; i < event.getHistorySize(); i++) {
+                    velocityTracker.addMovement(event.getHistoricalEventTime(i), event.getHistoricalY(i));
+                }
+                velocityTracker.addMovement(event.getEventTime(), event.getY());
+
+                // a move event batches all samples since the previous one and ends at the latest sample,
+                // fractions of pixels are kept, so slow drags are not lost
+                pendingDragDistance += event.getY() - lastTouchedY;
+                lastTouchedY = event.getY();
+                if ((int) pendingDragDistance != 0) {
                     startScrolling();
-                    listener.onScroll(distanceY);
-                    lastTouchedY = event.getY();
+                    // the wheel is scrolled once per frame, however many events the frame brings
+                    getFrameScheduler().start(dragCallback);
                 }
                 break;
+
+            case MotionEvent.ACTION_UP:
+                velocityTracker.addMovement(event.getEventTime(), event.getY());
+                applyDrag();
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                applyDrag();
+                break;
         }
 
+        if (gestureDetector == null) {
+            gestureDetector = new GestureDetector(context, gestureListener);
+            gestureDetector.setIsLongpressEnabled(false);
+        }
         if (!gestureDetector.onTouchEvent(event) && event.getAction() == MotionEvent.ACTION_UP) {
             justify();
         }
@@ -170,59 +342,230 @@ public class WheelScroller {
         }
 
         public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-            lastScrollY = 0;
-            final int maxY = 0x7FFFFFFF;
-            final int minY = -maxY;
-            scroller.fling(0, lastScrollY, 0, (int) -velocityY, 0, 0, minY, maxY);
-            setNextMessage(MESSAGE_SCROLL);
+            fling(flingPhysics != null ? velocityTracker.computeVelocity() : velocityY);
+            flingStartTime = SystemClock.uptimeMillis();
+            startAnimation(ANIMATION_SCROLL);
             return true;
         }
     };
 
-    // Messages
-    private final int MESSAGE_SCROLL = 0;
-    private final int MESSAGE_JUSTIFY = 1;
+    /**
+     * Starts a fling within the bounds. The snapper chooses where the fling ends, the fling keeps its duration
+     * and decelerates to the new end. A fling which would pass a bound by much runs at full speed and stops
+     * on the frame it crosses the bound, so it does not crawl to the end. A fling away from the items of
+     * an overscrolled wheel is replaced by a scroll back to them, a fling against the bound the wheel rests on
+     * reaches the bound at once.
+     *
+     * @param velocity the velocity in pixels per second, positive to the first item
+     */
+    private void fling(float velocity) {
+        lastScrollY = 0;
+        lastFrameTime = 0;
+        isFlingBounded = false;
+        float maxVelocity = flingBounds != null ? flingBounds.getMaxFlingVelocity() : 0;
+        if (maxVelocity > 0) {
+            velocity = Math.max(-maxVelocity, Math.min(maxVelocity, velocity));
+        }
+        flingVelocity = (int) velocity;
+
+        int distance;
+        if (flingPhysics != null) {
+            finishMotion();
+            distance = (int) Math.max(-UNBOUNDED, Math.min(UNBOUNDED, flingPhysics.getFlingDistance(velocity)));
+        } else {
+            getScroller().fling(0, 0, 0, (int) -velocity, 0, 0, -UNBOUNDED, UNBOUNDED);
+            distance = -scroller.getFinalY();
+        }
+
+        int minDistance = flingBounds != null ? flingBounds.getMinFlingDistance() : -UNBOUNDED;
+        int maxDistance = flingBounds != null ? flingBounds.getMaxFlingDistance() : UNBOUNDED;
+        int target = Math.max(minDistance, Math.min(maxDistance, distance));
+        if (target != distance && (long) target * distance <= 0) {
+            // the wheel is overscrolled and flung away from its items, or rests on the bound
+            finishMotion();
+            getScroller().startScroll(0, 0, 0, -target, SCROLLING_DURATION);
+            if (target == 0 && flingBounds != null) {
+                flingBounds.onFlingBoundReached(flingVelocity);
+            }
+            return;
+        }
+        if (target != distance
+                && (flingSnapper == null || Math.abs((long) target) * 2 < Math.abs((long) distance))) {
+            // the platform fling runs unbounded, both flings are stopped on the frame they cross the bound
+            if (flingPhysics != null) {
+                flingMotion.start(flingPhysics, distance, velocity, minDistance, maxDistance,
+                        SystemClock.uptimeMillis());
+            }
+            isFlingBounded = true;
+            flingBound = target;
+            return;
+        }
+        if (flingSnapper != null) {
+            target = flingSnapper.snapFling(target);
+        }
+        if (flingPhysics != null) {
+            flingMotion.start(flingPhysics, target, velocity, -UNBOUNDED, UNBOUNDED, SystemClock.uptimeMillis());
+        } else if (target != distance) {
+            scroller.setFinalY(-target);
+        }
+    }
+
+    /**
+     * Computes position of the running motion
+     *
+     * @param frameTimeNanos the frame time in nanoseconds
+     * @return the current position
+     */
+    private int computeCurrY(long frameTimeNanos) {
+        if (!flingMotion.isFinished()) {
+            flingMotion.computeOffset(frameTimeNanos / 1000000);
+            return -flingMotion.getOffset();
+        }
+        if (scroller == null) {
+            return lastScrollY;
+        }
+        scroller.computeScrollOffset();
+        return scroller.getCurrY();
+    }
+
+    /**
+     * Gets position the running motion ends at
+     *
+     * @return the final position
+     */
+    private int getFinalY() {
+        if (!flingMotion.isFinished()) {
+            return -flingMotion.getFinalOffset();
+        }
+        return scroller != null ? scroller.getFinalY() : lastScrollY;
+    }
+
+    /**
+     * Tests whether the motion is finished
+     *
+     * @return true if neither a fling nor a scroll is running
+     */
+    private boolean isMotionFinished() {
+        return (scroller == null || scroller.isFinished()) && flingMotion.isFinished();
+    }
+
+    /**
+     * Finishes the motion where it is
+     */
+    private void finishMotion() {
+        if (scroller != null) {
+            scroller.forceFinished(true);
+        }
+        flingMotion.forceFinished();
+    }
+
+    // drag callback
+    private FrameScheduler.FrameCallback dragCallback = new FrameScheduler.FrameCallback() {
+        public void doFrame(long frameTimeNanos) {
+            applyDrag();
+        }
+    };
+
+    /**
+     * Scrolls the wheel by whole pixels dragged since the last frame
+     */
+    private void applyDrag() {
+        stopDrag();
+        int distance = (int) pendingDragDistance;
+        if (distance != 0) {
+            pendingDragDistance -= distance;
+            listener.onScroll(distance);
+        }
+    }
+
+    /**
+     * Stops applying drags on every frame
+     */
+    private void stopDrag() {
+        if (frameScheduler != null) {
+            frameScheduler.stop(dragCallback);
+        }
+    }
+
+    // Animations
+    private static final int ANIMATION_SCROLL = 0;
+    private static final int ANIMATION_JUSTIFY = 1;
 
     /**
-     * Set next message to queue. Clears queue before.
+     * Starts the specified animation. It is advanced once per display frame.
      *
-     * @param message the message to set
+     * @param animation the animation to start
      */
-    private void setNextMessage(int message) {
-        clearMessages();
-        animationHandler.sendEmptyMessage(message);
+    private void startAnimation(int animation) {
+        this.animation = animation;
+        getFrameScheduler().start(frameCallback);
     }
 
     /**
-     * Clears messages from queue
+     * Stops the animation
      */
-    private void clearMessages() {
-        animationHandler.removeMessages(MESSAGE_SCROLL);
-        animationHandler.removeMessages(MESSAGE_JUSTIFY);
+    private void stopAnimation() {
+        if (frameScheduler != null) {
+            frameScheduler.stop(frameCallback);
+        }
+    }
+
+    /**
+     * Stops the animation and finishes scrolling immediately
+     */
+    void abortAnimation() {
+        isFlingBounded = false;
+        pendingDragDistance = 0;
+        finishMotion();
+        stopAnimation();
+        stopDrag();
+        finishScrolling();
     }
 
-    // animation handler
-    private Handler animationHandler = new Handler() {
-        public void handleMessage(Message msg) {
-            scroller.computeScrollOffset();
-            int currY = scroller.getCurrY();
+    // frame callback
+    private FrameScheduler.FrameCallback frameCallback = new FrameScheduler.FrameCallback() {
+        public void doFrame(long frameTimeNanos) {
+            int currY = computeCurrY(frameTimeNanos);
+            int boundVelocity = 0;
+            boolean isBoundReached = false;
+            if (isFlingBounded && (flingBound > 0 ? -currY >= flingBound : -currY <= flingBound)) {
+                // the velocity the fling crosses the bound with
+                if (flingPhysics != null) {
+                    boundVelocity = (int) flingMotion.getVelocity();
+                } else if (lastFrameTime != 0 && frameTimeNanos > lastFrameTime) {
+                    boundVelocity = (int) ((lastScrollY - currY) * 1000000000L / (frameTimeNanos - lastFrameTime));
+                } else {
+                    boundVelocity = flingVelocity;
+                }
+                currY = -flingBound;
+                isFlingBounded = false;
+                isBoundReached = true;
+                finishMotion();
+            }
+            lastFrameTime = frameTimeNanos;
+
             int delta = lastScrollY - currY;
             lastScrollY = currY;
+            lastDelta = delta;
             if (delta != 0) {
                 listener.onScroll(delta);
             }
+            if (isBoundReached && flingBounds != null) {
+                flingBounds.onFlingBoundReached(boundVelocity);
+            }
 
             // scrolling is not finished when it comes to final Y
             // so, finish it manually 
-            if (Math.abs(currY - scroller.getFinalY()) < MIN_DELTA_FOR_SCROLLING) {
-                currY = scroller.getFinalY();
-                scroller.forceFinished(true);
+            if (Math.abs(currY - getFinalY()) < MIN_DELTA_FOR_SCROLLING) {
+                finishMotion();
             }
-            if (!scroller.isFinished()) {
-                animationHandler.sendEmptyMessage(msg.what);
-            } else if (msg.what == MESSAGE_SCROLL) {
+            if (!isMotionFinished()) {
+                return;
+            }
+            if (animation == ANIMATION_SCROLL) {
                 justify();
             } else {
+                stopAnimation();
                 finishScrolling();
             }
         }
@@ -232,8 +575,50 @@ public class WheelScroller {
      * Justifies wheel
      */
     private void justify() {
+        if (flingStartTime != 0) {
+            lastFlingDuration = SystemClock.uptimeMillis() - flingStartTime;
+            flingStartTime = 0;
+        } else {
+            lastFlingDuration = 0;
+        }
         listener.onJustify();
-        setNextMessage(MESSAGE_JUSTIFY);
+        if (isMotionFinished()) {
+            // the wheel is justified already, for example by a snapped fling
+            stopAnimation();
+            finishScrolling();
+        } else {
+            startAnimation(ANIMATION_JUSTIFY);
+        }
+    }
+
+    /**
+     * Gets distance the running animation is still going to scroll
+     *
+     * @return the remaining distance, 0 if the wheel is not animated
+     */
+    int getRemainingDistance() {
+        if (frameScheduler == null || !frameScheduler.isStarted(frameCallback) || isMotionFinished()) {
+            return 0;
+        }
+        return lastScrollY - getFinalY();
+    }
+
+    /**
+     * Gets distance scrolled by the animation in the last frame
+     *
+     * @return the scrolled distance
+     */
+    int getLastDelta() {
+        return lastDelta;
+    }
+
+    /**
+     * Gets duration of the fling which has just ended. Valid while the wheel is justified.
+     *
+     * @return the fling duration in milliseconds, or 0 if justifying does not follow a fling
+     */
+    long getLastFlingDuration() {
+        return lastFlingDuration;
     }
 
     /**
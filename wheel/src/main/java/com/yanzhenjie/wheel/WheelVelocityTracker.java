@@ -0,0 +1,98 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel;
+
+/**
+ * Velocity tracker fits a line through the touch samples of the last 100 milliseconds.
+ */
+final class WheelVelocityTracker {
+
+    /**
+     * Count of samples kept
+     */
+    private static final int HISTORY_SIZE = 20;
+
+    /**
+     * Age of the oldest sample the velocity is computed from
+     */
+    private static final long HORIZON = 100;
+
+    /**
+     * Pause after which the finger is considered stopped
+     */
+    private static final long ASSUME_STOPPED = 40;
+
+    // Samples, a ring buffer
+    private final long[] times = new long[HISTORY_SIZE];
+    private final float[] positions = new float[HISTORY_SIZE];
+    private int newest;
+    private int count;
+
+    /**
+     * Drops all samples
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Adds a sample
+     *
+     * @param time     the sample time in milliseconds
+     * @param position the touch position
+     */
+    void addMovement(long time, float position) {
+        if (count > 0 && time - times[newest] > ASSUME_STOPPED) {
+            count = 0;
+        }
+        newest = (newest + 1) % HISTORY_SIZE;
+        times[newest] = time;
+        positions[newest] = position;
+        count = Math.min(count + 1, HISTORY_SIZE);
+    }
+
+    /**
+     * Computes velocity by the least squares
+     *
+     * @return the velocity in pixels per second
+     */
+    float computeVelocity() {
+        double sumTime = 0;
+        double sumPosition = 0;
+        double sumTimeTime = 0;
+        double sumTimePosition = 0;
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int index = (newest - i + HISTORY_SIZE) % HISTORY_SIZE;
+            long age = times[newest] - times[index];
+            if (age > HORIZON) {
+                break;
+            }
+            double time = -age;
+            double position = positions[index] - positions[newest];
+            sumTime += time;
+            sumPosition += position;
+            sumTimeTime += time * time;
+            sumTimePosition += time * position;
+            n++;
+        }
+        double denominator = n * sumTimeTime - sumTime * sumTime;
+        if (n < 2 || denominator == 0) {
+            return 0;
+        }
+        return (float) ((n * sumTimePosition - sumTime * sumPosition) / denominator * 1000);
+    }
+}
@@ -17,20 +17,35 @@ package com.yanzhenjie.wheel;
 
 import android.content.Context;
 import android.database.DataSetObserver;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.text.Layout;
+import android.text.TextPaint;
 import android.util.AttributeSet;
+import android.util.TypedValue;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup.LayoutParams;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
 
+import com.yanzhenjie.wheel.adapters.AbstractWheelTextAdapter;
+import com.yanzhenjie.wheel.adapters.VirtualWheelAdapter;
+import com.yanzhenjie.wheel.adapters.WheelFixedSizeAdapter;
+import com.yanzhenjie.wheel.adapters.WheelDataObserver;
+import com.yanzhenjie.wheel.adapters.WheelPrefetchAdapter;
+import com.yanzhenjie.wheel.adapters.WheelTextAdapter;
 import com.yanzhenjie.wheel.adapters.WheelViewAdapter;
+import com.yanzhenjie.wheel.adapters.WheelViewTypeAdapter;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.lang.reflect.Array;
 
 /**
  * Numeric wheel view.
@@ -51,6 +66,18 @@ public class WheelView extends View {
      * Default count of visible items
      */
     private static final int DEF_VISIBLE_ITEMS = 5;
+    /**
+     * Count of screens of items whose text layouts are cached
+     */
+    private static final int TEXT_LAYOUT_CACHE_SCREENS = 3;
+    /**
+     * Count of frames after which metrics are reported
+     */
+    private static final int METRICS_REPORT_FRAMES = 120;
+    /**
+     * Default count of frames items are prefetched ahead during animation
+     */
+    private static final int DEF_PREFETCH_FRAMES = 8;
 
     // Wheel Values
     private int mCurrentItem = 0;
@@ -58,22 +85,77 @@ public class WheelView extends View {
     private int mVisibleItems = DEF_VISIBLE_ITEMS;
     // Item height
     private int mItemHeight = 0;
+    // Fixed item size, 0 if items are measured
+    private int mFixedItemWidth;
+    private int mFixedItemHeight;
+
+    // Result of the last measure pass, reused while the specs and the items are the same
+    private int mItemsVersion;
+    private int mMeasuredVersion = -1;
+    private int mMeasuredItem;
+    private int mMeasuredVisibleItems;
+    private int mMeasuredWidthSpec;
+    private int mMeasuredHeightSpec;
+    private int mMeasuredWheelWidth;
+    private int mMeasuredWheelHeight;
+    private int mMeasuredTextSize;
+    private int mMeasuredItemResource;
+    private int mMeasuredItemTextResource;
+    private int mMeasuredFixedWidth;
+    private int mMeasuredFixedHeight;
     // Center Line
     private Drawable mCenterFilter;
     // Shadows drawables
     private GradientDrawable mTopShadow;
     private GradientDrawable mBottomShadow;
 
+    // Shadows and center filter drawn once into a bitmap, only items are drawn on every frame
+    private boolean mChromeCacheEnabled = true;
+    private Bitmap mChromeBitmap;
+    private boolean mChromeDirty = true;
+    private int mChromeWidth;
+    private int mChromeHeight;
+    private int mChromeItemHeight;
+    // Horizontal bands covered by shadows and center filter, pairs of top and bottom, only they are cached
+    private final int[] mChromeBands = new int[6];
+    private int mChromeBandCount;
+    private int mChromeBandsHeight;
+    private final Rect mChromeSrc = new Rect();
+    private final Rect mChromeDst = new Rect();
+
     // Scrolling
     private WheelScroller mScroller;
     private boolean mScrollingPerformed;
     private int mScrollingOffset;
 
+    // Current item and scrolling offset of the last drawn frame
+    private int mDrawnItem = -1;
+    private int mDrawnOffset;
+
     // Cyclic
     boolean isCyclic = false;
 
+    // Glows at the ends of a not cyclic wheel, null if disabled
+    private EdgeGlow mEdgeGlow;
+
+    // Greatest fling velocity in items per second, 0 if it is not limited
+    private float mMaxFlingVelocity;
+
     // Items layout
     private LinearLayout mItemsLayout;
+    // Items are rebound in place and need to be laid out again
+    private boolean mItemsRebound;
+
+    // Prefetch of items which are about to appear during animation
+    private int mPrefetchFrames = DEF_PREFETCH_FRAMES;
+    private int mPrefetchFirst;
+    private int mPrefetchLast = -1;
+    private int mPrefetchNext;
+    private int mPrefetchStep;
+    private boolean mPrefetchScheduled;
+
+    // Count of items as of the last notification of adapter
+    private int mNotifiedItemsCount;
 
     // The number of first item in layout
     private int firstItem;
@@ -81,13 +163,33 @@ public class WheelView extends View {
     // View adapter
     private WheelViewAdapter viewAdapter;
 
+    // Canvas text mode
+    private boolean mCanvasTextMode;
+    private TextPaint mTextPaint;
+    private Paint.FontMetricsInt mFontMetrics;
+    private TextLayoutCache mTextLayoutCache;
+    private TextPaint mLayoutPaint;
+    private int mLayoutWidth;
+
     // Recycle
     private WheelRecycle recycle = new WheelRecycle(this);
 
+    // Group the wheel is linked in
+    private WheelGroup mGroup;
+
+    // Items ranges, reused on every frame
+    private final ItemsRange mItemsRange = new ItemsRange();
+    private final ItemsRange mEmptyRange = new ItemsRange();
+
     // Listeners
-    private List<OnWheelChangedListener> changingListeners = new LinkedList<>();
-    private List<OnWheelScrollListener> scrollingListeners = new LinkedList<>();
-    private List<OnWheelClickedListener> clickingListeners = new LinkedList<>();
+    // Listeners, arrays are copied on change, so listeners can be added and removed while notified
+    private OnWheelChangedListener[] changingListeners = new OnWheelChangedListener[0];
+    private OnWheelScrollListener[] scrollingListeners = new OnWheelScrollListener[0];
+    private OnWheelClickedListener[] clickingListeners = new OnWheelClickedListener[0];
+
+    // Metrics, null if nobody is listening
+    private OnWheelMetricsListener metricsListener;
+    private WheelMetrics mMetrics;
 
     public WheelView(Context context) {
         this(context, null, 0);
@@ -103,6 +205,8 @@ public class WheelView extends View {
     public WheelView(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
         mScroller = new WheelScroller(getContext(), scrollingListener);
+        mScroller.setFlingSnapper(flingSnapper);
+        mScroller.setFlingBounds(flingBounds);
     }
 
     // Scrolling listener
@@ -114,15 +218,31 @@ public class WheelView extends View {
 
         public void onScroll(int distance) {
             doScroll(distance);
+            updatePrefetchRange();
+
+            // flings stay within the items, only a drag gets past the ends
+            int overscroll = getOverscroll();
+            if (overscroll != 0 && mEdgeGlow != null) {
+                mEdgeGlow.onPull(overscroll, getHeight());
+                mScrollingOffset -= overscroll;
+                invalidate();
+            }
 
             int height = getHeight();
             if (mScrollingOffset > height) {
                 mScrollingOffset = height;
                 mScroller.stopScrolling();
+                if (mMetrics != null) {
+                    mMetrics.recordOverscrollStop();
+                }
             } else if (mScrollingOffset < -height) {
                 mScrollingOffset = -height;
                 mScroller.stopScrolling();
+                if (mMetrics != null) {
+                    mMetrics.recordOverscrollStop();
+                }
             }
+            invalidateItems();
         }
 
         public void onFinished() {
@@ -133,34 +253,220 @@ public class WheelView extends View {
 
             mScrollingOffset = 0;
             invalidate();
+            cancelPrefetch();
+
+            if (mMetrics != null) {
+                reportMetrics();
+            }
         }
 
         public void onJustify() {
+            if (mMetrics != null && mScroller.getLastFlingDuration() > 0) {
+                mMetrics.recordFling(mScroller.getLastFlingDuration());
+            }
             if (Math.abs(mScrollingOffset) > WheelScroller.MIN_DELTA_FOR_SCROLLING) {
                 mScroller.scroll(mScrollingOffset, 0);
             }
         }
     };
 
+    // Fling snapper, flings end on an item
+    private WheelScroller.FlingSnapper flingSnapper = new WheelScroller.FlingSnapper() {
+        @Override
+        public int snapFling(int distance) {
+            int itemHeight = getItemHeight();
+            if (itemHeight == 0) {
+                return distance;
+            }
+
+            // the wheel is scrolled to the previous items by a positive distance
+            long items = Math.round(((double) mScrollingOffset + distance) / itemHeight);
+            return clampDistance(items * itemHeight - mScrollingOffset);
+        }
+    };
+
+    // Fling bounds, flings of a not cyclic wheel end on the first or the last item
+    private WheelScroller.FlingBounds flingBounds = new WheelScroller.FlingBounds() {
+        @Override
+        public int getMinFlingDistance() {
+            if (isCyclic || viewAdapter == null) {
+                return Integer.MIN_VALUE / 2;
+            }
+            int items = Math.max(0, viewAdapter.getItemsCount() - 1 - mCurrentItem);
+            return clampDistance(-(long) items * getItemHeight() - mScrollingOffset);
+        }
+
+        @Override
+        public int getMaxFlingDistance() {
+            if (isCyclic || viewAdapter == null) {
+                return Integer.MAX_VALUE / 2;
+            }
+            return clampDistance((long) mCurrentItem * getItemHeight() - mScrollingOffset);
+        }
+
+        @Override
+        public float getMaxFlingVelocity() {
+            return mMaxFlingVelocity * getItemHeight();
+        }
+
+        @Override
+        public void onFlingBoundReached(int velocity) {
+            if (mEdgeGlow != null) {
+                mEdgeGlow.onAbsorb(velocity);
+                invalidate();
+            }
+        }
+    };
+
+    /**
+     * Clamps the scrolling distance, so it can be added to the scrolling offset
+     *
+     * @param distance the distance
+     * @return the clamped distance
+     */
+    private static int clampDistance(long distance) {
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, distance));
+    }
+
+    /**
+     * Gets distance the wheel is scrolled past its first or last item
+     *
+     * @return the distance, positive past the first item, 0 for a cyclic wheel
+     */
+    private int getOverscroll() {
+        if (isCyclic || viewAdapter == null) {
+            return 0;
+        }
+        if (mCurrentItem <= 0 && mScrollingOffset > 0) {
+            return mScrollingOffset;
+        }
+        if (mCurrentItem >= viewAdapter.getItemsCount() - 1 && mScrollingOffset < 0) {
+            return mScrollingOffset;
+        }
+        return 0;
+    }
+
+    /**
+     * Sets whether glows are shown at the ends of a not cyclic wheel when it is dragged or flung against them.
+     * Instead of scrolling past its ends the wheel then stops at them. Glows need Ice Cream Sandwich, they are
+     * disabled by default.
+     *
+     * @param enabled true to show glows
+     */
+    public void setEdgeGlowEnabled(boolean enabled) {
+        if (!enabled || !EdgeGlow.isSupported()) {
+            mEdgeGlow = null;
+        } else if (mEdgeGlow == null) {
+            mEdgeGlow = new EdgeGlow(getContext());
+        }
+        invalidate();
+    }
+
+    /**
+     * Sets whether flings end exactly on an item. When enabled, the fling decelerates to the item nearest to
+     * its end, so it is not followed by justifying. It is enabled
+     * by default.
+     *
+     * @param enabled true to snap flings to items
+     */
+    public void setFlingSnapEnabled(boolean enabled) {
+        mScroller.setFlingSnapper(enabled ? flingSnapper : null);
+    }
+
+    /**
+     * Sets physics flings are computed with. The wheel then tracks the fling velocity itself, the same physics
+     * moves the wheel the same way on every device.
+     *
+     * @param physics the physics, for example {@link FrictionPhysics} or {@link SpringPhysics}, or null to fling
+     *                with the platform scroller
+     */
+    public void setFlingPhysics(FlingPhysics physics) {
+        mScroller.setFlingPhysics(physics);
+    }
+
+    /**
+     * Limits velocity of flings. A limited fling can not skip more items than the user can follow.
+     *
+     * @param itemsPerSecond the greatest velocity in items per second, 0 if it is not limited
+     */
+    public void setMaxFlingVelocity(float itemsPerSecond) {
+        mMaxFlingVelocity = Math.max(0, itemsPerSecond);
+    }
+
     /**
      * Set the top shadow.
      */
     public void setTopShadow(GradientDrawable topShadow) {
-        mTopShadow = topShadow;
+        mTopShadow = setChromeDrawable(mTopShadow, topShadow);
     }
 
     /**
      * Set the bottom shadow.
      */
     public void setBottomShadow(GradientDrawable bottomShadow) {
-        mBottomShadow = bottomShadow;
+        mBottomShadow = setChromeDrawable(mBottomShadow, bottomShadow);
     }
 
     /**
      * Set the shadow of the middle.
      */
     public void setCenterFilter(Drawable centerFilter) {
-        this.mCenterFilter = centerFilter;
+        this.mCenterFilter = setChromeDrawable(mCenterFilter, centerFilter);
+    }
+
+    /**
+     * Enables drawing shadows and center filter into a cached bitmap, which is redrawn only when the size
+     * or the drawables change. It is enabled by default.
+     *
+     * @param enabled true to cache the shadows and center filter
+     */
+    public void setChromeCacheEnabled(boolean enabled) {
+        mChromeCacheEnabled = enabled;
+        if (!enabled) {
+            mChromeBitmap = null;
+        }
+        invalidateChrome();
+    }
+
+    /**
+     * Replaces a drawable of shadows or center filter, so changes of the drawable redraw the cached bitmap.
+     *
+     * @param old      the old drawable
+     * @param drawable the new drawable
+     * @return the new drawable
+     */
+    private <T extends Drawable> T setChromeDrawable(Drawable old, T drawable) {
+        if (old != null) {
+            old.setCallback(null);
+        }
+        if (drawable != null) {
+            drawable.setCallback(this);
+        }
+        invalidateChrome();
+        return drawable;
+    }
+
+    /**
+     * Makes the shadows and center filter be redrawn on the next frame
+     */
+    private void invalidateChrome() {
+        // the bounds are set again
+        mChromeItemHeight = -1;
+        mChromeDirty = true;
+        invalidate();
+    }
+
+    @Override
+    protected boolean verifyDrawable(Drawable who) {
+        return who == mCenterFilter || who == mTopShadow || who == mBottomShadow || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void invalidateDrawable(Drawable drawable) {
+        if (drawable == mCenterFilter || drawable == mTopShadow || drawable == mBottomShadow) {
+            mChromeDirty = true;
+        }
+        super.invalidateDrawable(drawable);
     }
 
     /**
@@ -192,6 +498,81 @@ public class WheelView extends View {
         mVisibleItems = count;
     }
 
+    /**
+     * Sets fixed size of items. The wheel is measured from the size without measuring the items,
+     * so all items must fit into it. Items are laid out with the size and scrolling does not depend on
+     * the laid out items. The size overrides the size declared by a {@link WheelFixedSizeAdapter}.
+     *
+     * @param width  the item width in pixels, 0 to measure items
+     * @param height the item height in pixels, 0 to measure items
+     */
+    public void setFixedItemSize(int width, int height) {
+        if (mFixedItemWidth != width || mFixedItemHeight != height) {
+            mFixedItemWidth = width;
+            mFixedItemHeight = height;
+            mItemHeight = height;
+            invalidateMeasure();
+            requestLayout();
+        }
+    }
+
+    /**
+     * Tests if the wheel draws the text of items directly on the canvas.
+     *
+     * @return true if canvas text mode is enabled
+     */
+    public boolean isCanvasTextMode() {
+        return mCanvasTextMode;
+    }
+
+    /**
+     * Sets canvas text mode. When enabled and the adapter is a {@link WheelTextAdapter},
+     * the wheel draws the text of items with a shared paint instead of building item views.
+     *
+     * @param canvasTextMode true to draw text on the canvas
+     */
+    public void setCanvasTextMode(boolean canvasTextMode) {
+        if (mCanvasTextMode != canvasTextMode) {
+            mCanvasTextMode = canvasTextMode;
+            invalidateWheel(true);
+            requestLayout();
+        }
+    }
+
+    /**
+     * Tests if text layouts are cached in canvas text mode.
+     *
+     * @return true if the text layout cache is enabled
+     */
+    public boolean isTextLayoutCacheEnabled() {
+        return mTextLayoutCache != null;
+    }
+
+    /**
+     * Enables caching of text layouts in canvas text mode. The layouts of the items shown recently
+     * are kept by item index and reused until the text style, the wheel width or the items change.
+     *
+     * @param enabled true to cache text layouts
+     */
+    public void setTextLayoutCacheEnabled(boolean enabled) {
+        if (!enabled) {
+            mTextLayoutCache = null;
+            mLayoutPaint = null;
+        } else if (mTextLayoutCache == null) {
+            mTextLayoutCache = new TextLayoutCache(TEXT_LAYOUT_CACHE_SCREENS * (mVisibleItems + 2));
+        }
+        invalidate();
+    }
+
+    /**
+     * Tests if items are drawn as text on the canvas
+     *
+     * @return true if canvas text mode is enabled and supported by the adapter
+     */
+    private boolean isDrawingText() {
+        return mCanvasTextMode && viewAdapter instanceof WheelTextAdapter;
+    }
+
     /**
      * Gets view adapter
      *
@@ -202,15 +583,36 @@ public class WheelView extends View {
     }
 
     // Adapter listener
-    private DataSetObserver dataObserver = new DataSetObserver() {
+    private DataSetObserver dataObserver = new WheelDataObserver() {
         @Override
         public void onChanged() {
+            mNotifiedItemsCount = viewAdapter.getItemsCount();
             invalidateWheel(false);
         }
 
         @Override
         public void onInvalidated() {
+            mNotifiedItemsCount = viewAdapter.getItemsCount();
             invalidateWheel(true);
+            // the adapter may create other views now, take views from the matching pool
+            if (mGroup != null) {
+                recycle.setPool(mGroup.getPool(viewAdapter));
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int start, int count) {
+            rebindItems(start, count);
+        }
+
+        @Override
+        public void onItemRangeInserted(int start, int count) {
+            moveItems(start, count);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int start, int count) {
+            moveItems(start, -count);
         }
     };
 
@@ -228,8 +630,173 @@ public class WheelView extends View {
         if (this.viewAdapter != null) {
             this.viewAdapter.registerDataSetObserver(dataObserver);
         }
+        mNotifiedItemsCount = viewAdapter != null ? viewAdapter.getItemsCount() : 0;
+        if (mGroup != null) {
+            recycle.setPool(mGroup.getPool(viewAdapter));
+        }
 
         invalidateWheel(true);
+        notifyPrefetchAdapter();
+    }
+
+    /**
+     * Links the wheel in a group, the wheel shares animation frames and cached views with other wheels of
+     * the group.
+     *
+     * @param group the group, or null to unlink the wheel
+     */
+    void setWheelGroup(WheelGroup group) {
+        if (mGroup == group) {
+            return;
+        }
+        mGroup = group;
+        mScroller.setFrameScheduler(group != null ? group.getFrameScheduler() : null);
+        recycle.recyclePrefetchedViews();
+        recycle.setPool(group != null ? group.getPool(viewAdapter) : null);
+    }
+
+    /**
+     * Tells a prefetching adapter which items are shown around the current one,
+     * including the items which are about to appear during animation
+     */
+    private void notifyPrefetchAdapter() {
+        if (viewAdapter instanceof WheelPrefetchAdapter) {
+            int addItems = mVisibleItems / 2;
+            int first = mCurrentItem - addItems;
+            int last = mCurrentItem + addItems;
+            if (mPrefetchFirst <= mPrefetchLast) {
+                first = Math.min(first, mPrefetchFirst);
+                last = Math.max(last, mPrefetchLast);
+            }
+            ((WheelPrefetchAdapter) viewAdapter).prefetchItems(first, last, isCyclic);
+        }
+    }
+
+    /**
+     * Sets count of frames the items which are about to appear during animation are prepared ahead.
+     * The items are bound and measured while the main thread is idle, the prefetch is limited by the
+     * distance the animation is going to scroll.
+     *
+     * @param frames the count of frames, 0 to disable prefetch
+     */
+    public void setPrefetchFrames(int frames) {
+        mPrefetchFrames = frames;
+        if (frames <= 0) {
+            cancelPrefetch();
+        }
+    }
+
+    /**
+     * Updates range of items to be prefetched from the velocity and the target of animation
+     */
+    private void updatePrefetchRange() {
+        int remaining = mScroller.getRemainingDistance();
+        int itemHeight = getItemHeight();
+        if (mPrefetchFrames <= 0 || remaining == 0 || itemHeight == 0 || viewAdapter == null) {
+            return;
+        }
+
+        long distance = Math.min(Math.abs((long) remaining),
+                Math.abs((long) mScroller.getLastDelta()) * mPrefetchFrames);
+        int items = (int) (distance / itemHeight) + 1;
+        int addItems = mVisibleItems / 2 + 1;
+        int oldFirst = mPrefetchFirst;
+        int oldLast = mPrefetchLast;
+        if (remaining > 0) {
+            // items above the wheel are coming
+            mPrefetchLast = mCurrentItem - addItems - 1;
+            mPrefetchFirst = mPrefetchLast - items + 1;
+            mPrefetchNext = mPrefetchLast;
+            mPrefetchStep = -1;
+        } else {
+            mPrefetchFirst = mCurrentItem + addItems + 1;
+            mPrefetchLast = mPrefetchFirst + items - 1;
+            mPrefetchNext = mPrefetchFirst;
+            mPrefetchStep = 1;
+        }
+        if (oldFirst != mPrefetchFirst || oldLast != mPrefetchLast) {
+            notifyPrefetchAdapter();
+        }
+
+        if (!mPrefetchScheduled) {
+            mPrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(prefetchHandler);
+        }
+    }
+
+    /**
+     * Stops prefetching and moves the prefetched views to cache
+     */
+    private void cancelPrefetch() {
+        mPrefetchFirst = 0;
+        mPrefetchLast = -1;
+        recycle.recyclePrefetchedViews();
+        if (mPrefetchScheduled) {
+            mPrefetchScheduled = false;
+            Looper.myQueue().removeIdleHandler(prefetchHandler);
+        }
+    }
+
+    // Prefetches one item every time the main thread is idle
+    private MessageQueue.IdleHandler prefetchHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mPrefetchScheduled = prefetchNextItem();
+            return mPrefetchScheduled;
+        }
+    };
+
+    /**
+     * Prepares the next item which is about to appear
+     *
+     * @return true if there are more items to prefetch
+     */
+    private boolean prefetchNextItem() {
+        if (viewAdapter == null || viewAdapter.getItemsCount() == 0) {
+            return false;
+        }
+        int count = viewAdapter.getItemsCount();
+        while (mPrefetchNext >= mPrefetchFirst && mPrefetchNext <= mPrefetchLast) {
+            int index = mPrefetchNext;
+            mPrefetchNext += mPrefetchStep;
+            if (!isValidItemIndex(index)) {
+                continue;
+            }
+
+            if (isDrawingText()) {
+                // formats and caches the text in adapter
+                getItemText(index);
+                return true;
+            }
+            if (mItemsLayout == null || index >= firstItem && index < firstItem + mItemsLayout.getChildCount()) {
+                continue;
+            }
+            index = wrapIndex(index, count);
+            if (recycle.isPrefetched(index)) {
+                continue;
+            }
+            // do not bind a view which can not be kept
+            if (recycle.isPrefetchFull()) {
+                return false;
+            }
+
+            int viewType = getItemViewType(viewAdapter, index);
+            View view = viewAdapter.getItem(index, recycle.getItem(viewType, index), mItemsLayout);
+            if (view == null) {
+                continue;
+            }
+            recycle.setViewType(view, viewType);
+            int fixedItemHeight = getFixedItemHeight();
+            if (fixedItemHeight > 0) {
+                view.measure(MeasureSpec.makeMeasureSpec(getWidth() - 2 * PADDING, MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(fixedItemHeight, MeasureSpec.EXACTLY));
+            } else {
+                view.measure(MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED),
+                        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+            }
+            return recycle.addPrefetchedView(view, index);
+        }
+        return false;
     }
 
     /**
@@ -238,7 +805,7 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void addChangingListener(OnWheelChangedListener listener) {
-        changingListeners.add(listener);
+        changingListeners = addListener(changingListeners, listener);
     }
 
     /**
@@ -247,7 +814,7 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void removeChangingListener(OnWheelChangedListener listener) {
-        changingListeners.remove(listener);
+        changingListeners = removeListener(changingListeners, listener);
     }
 
     /**
@@ -257,8 +824,9 @@ public class WheelView extends View {
      * @param newValue the new wheel value
      */
     protected void notifyChangingListeners(int oldValue, int newValue) {
-        for (OnWheelChangedListener listener : changingListeners) {
-            listener.onChanged(this, oldValue, newValue);
+        OnWheelChangedListener[] listeners = changingListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onChanged(this, oldValue, newValue);
         }
     }
 
@@ -268,7 +836,7 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void addScrollingListener(OnWheelScrollListener listener) {
-        scrollingListeners.add(listener);
+        scrollingListeners = addListener(scrollingListeners, listener);
     }
 
     /**
@@ -277,15 +845,16 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void removeScrollingListener(OnWheelScrollListener listener) {
-        scrollingListeners.remove(listener);
+        scrollingListeners = removeListener(scrollingListeners, listener);
     }
 
     /**
      * Notifies listeners about starting scrolling
      */
     protected void notifyScrollingListenersAboutStart() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingStarted(this);
+        OnWheelScrollListener[] listeners = scrollingListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onScrollingStarted(this);
         }
     }
 
@@ -293,8 +862,9 @@ public class WheelView extends View {
      * Notifies listeners about ending scrolling
      */
     protected void notifyScrollingListenersAboutEnd() {
-        for (OnWheelScrollListener listener : scrollingListeners) {
-            listener.onScrollingFinished(this);
+        OnWheelScrollListener[] listeners = scrollingListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onScrollingFinished(this);
         }
     }
 
@@ -304,7 +874,7 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void addClickingListener(OnWheelClickedListener listener) {
-        clickingListeners.add(listener);
+        clickingListeners = addListener(clickingListeners, listener);
     }
 
     /**
@@ -313,15 +883,92 @@ public class WheelView extends View {
      * @param listener the listener
      */
     public void removeClickingListener(OnWheelClickedListener listener) {
-        clickingListeners.remove(listener);
+        clickingListeners = removeListener(clickingListeners, listener);
     }
 
     /**
      * Notifies listeners about clicking
      */
     protected void notifyClickListenersAboutClick(int item) {
-        for (OnWheelClickedListener listener : clickingListeners) {
-            listener.onItemClicked(this, item);
+        OnWheelClickedListener[] listeners = clickingListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onItemClicked(this, item);
+        }
+    }
+
+    /**
+     * Returns a copy of listeners with the listener added
+     *
+     * @param listeners the listeners
+     * @param listener  the listener to add
+     * @return the new listeners
+     */
+    private static <T> T[] addListener(T[] listeners, T listener) {
+        T[] added = newListeners(listeners, listeners.length + 1);
+        System.arraycopy(listeners, 0, added, 0, listeners.length);
+        added[listeners.length] = listener;
+        return added;
+    }
+
+    /**
+     * Returns a copy of listeners without the first occurrence of the listener
+     *
+     * @param listeners the listeners
+     * @param listener  the listener to remove
+     * @return the new listeners, or the same listeners if the listener is not found
+     */
+    private static <T> T[] removeListener(T[] listeners, T listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener == null ? listeners[i] == null : listener.equals(listeners[i])) {
+                T[] removed = newListeners(listeners, listeners.length - 1);
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, listeners.length - i - 1);
+                return removed;
+            }
+        }
+        return listeners;
+    }
+
+    /**
+     * Creates an array of the same type as listeners, Arrays.copyOf() is not available on Froyo
+     *
+     * @param listeners the listeners
+     * @param length    the length of the new array
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newListeners(T[] listeners, int length) {
+        return (T[]) Array.newInstance(listeners.getClass().getComponentType(), length);
+    }
+
+    /**
+     * Sets metrics listener. Metrics are collected only while a listener is set.
+     *
+     * @param listener the listener, null to stop collecting metrics
+     */
+    public void setMetricsListener(OnWheelMetricsListener listener) {
+        metricsListener = listener;
+        if (listener == null) {
+            mMetrics = null;
+        } else if (mMetrics == null) {
+            mMetrics = new WheelMetrics();
+            recycle.resetStatistics();
+        }
+    }
+
+    /**
+     * Reports collected metrics to the listener and starts a new batch
+     */
+    private void reportMetrics() {
+        if (mMetrics.isEmpty()) {
+            return;
+        }
+        mMetrics.setItemViewCounts(recycle.getMissCount(), recycle.getHitCount());
+        recycle.resetStatistics();
+        metricsListener.onMetrics(this, mMetrics);
+        // the listener may remove itself
+        if (mMetrics != null) {
+            mMetrics.reset();
         }
     }
 
@@ -348,10 +995,7 @@ public class WheelView extends View {
         int itemCount = viewAdapter.getItemsCount();
         if (index < 0 || index >= itemCount) {
             if (isCyclic) {
-                while (index < 0) {
-                    index += itemCount;
-                }
-                index %= itemCount;
+                index = wrapIndex(index, itemCount);
             } else {
                 return; // throw?
             }
@@ -373,8 +1017,9 @@ public class WheelView extends View {
                 mCurrentItem = index;
 
                 notifyChangingListeners(old, mCurrentItem);
+                notifyPrefetchAdapter();
 
-                invalidate();
+                invalidateItems();
             }
         }
     }
@@ -388,6 +1033,54 @@ public class WheelView extends View {
         setCurrentItem(index, false);
     }
 
+    /**
+     * Gets current position. For a {@link VirtualWheelAdapter} it is the position of the current item,
+     * otherwise it is the current item.
+     *
+     * @return the current position
+     */
+    public long getCurrentPosition() {
+        if (viewAdapter instanceof VirtualWheelAdapter) {
+            return ((VirtualWheelAdapter) viewAdapter).getPosition(mCurrentItem);
+        }
+        return mCurrentItem;
+    }
+
+    /**
+     * Sets the current position. For a {@link VirtualWheelAdapter} the window of the adapter is moved
+     * if the position is out of it or too far to animate. A window of cyclic positions is centered on
+     * the first position set, and the wheel moves to the copy of the position nearest to the current item.
+     * Does nothing when position is wrong.
+     *
+     * @param position the position
+     * @param animated the animation flag
+     */
+    public void setCurrentPosition(long position, boolean animated) {
+        if (!(viewAdapter instanceof VirtualWheelAdapter)) {
+            if (position >= Integer.MIN_VALUE && position <= Integer.MAX_VALUE) {
+                setCurrentItem((int) position, animated);
+            }
+            return;
+        }
+
+        VirtualWheelAdapter adapter = (VirtualWheelAdapter) viewAdapter;
+        if (adapter.getPositionsCount() <= 0
+                || !adapter.isPositionsCyclic() && (position < 0 || position >= adapter.getPositionsCount())) {
+            return;
+        }
+        if (adapter.isPositionsCyclic() && !adapter.isWindowPlaced()) {
+            setCurrentItem(adapter.moveWindowTo(position), false);
+            return;
+        }
+        int index = adapter.getIndex(position, mCurrentItem);
+        // the scrolling distance in pixels must fit into int
+        if (index < 0 || animated && Math.abs((long) index - mCurrentItem) * getItemHeight() > Integer.MAX_VALUE / 2) {
+            index = adapter.moveWindowTo(position);
+            animated = false;
+        }
+        setCurrentItem(index, animated);
+    }
+
     /**
      * Tests if wheel is cyclic. That means before the 1st item there is shown the last one
      *
@@ -405,6 +1098,116 @@ public class WheelView extends View {
     public void setCyclic(boolean isCyclic) {
         this.isCyclic = isCyclic;
         invalidateWheel(false);
+        notifyPrefetchAdapter();
+    }
+
+    /**
+     * Rebinds the shown items whose content is changed, other items are kept as they are.
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    private void rebindItems(int start, int count) {
+        // rebound items change the size of the wheel only if it wraps its content
+        if (MeasureSpec.getMode(mMeasuredWidthSpec) != MeasureSpec.EXACTLY
+                || MeasureSpec.getMode(mMeasuredHeightSpec) != MeasureSpec.EXACTLY) {
+            invalidateMeasure();
+        }
+        if (mTextLayoutCache != null) {
+            // layouts are cached by wrapped index, this evicts every copy drawn on a cyclic wheel
+            mTextLayoutCache.remove(start, count);
+        }
+        recycle.recyclePrefetchedViews();
+        if (viewAdapter == null || mItemsLayout == null || isDrawingText()) {
+            invalidate();
+            return;
+        }
+
+        int itemCount = viewAdapter.getItemsCount();
+        for (int i = 0; i < mItemsLayout.getChildCount(); i++) {
+            int index = firstItem + i;
+            if (!isValidItemIndex(index)) {
+                continue;
+            }
+            index = wrapIndex(index, itemCount);
+            if (index < start || index >= start + count) {
+                continue;
+            }
+
+            View child = mItemsLayout.getChildAt(i);
+            int viewType = getItemViewType(viewAdapter, index);
+            Object childType = child.getTag(R.id.wheel_item_view_type);
+            View view = childType instanceof Integer && (Integer) childType == viewType
+                    ? viewAdapter.getItem(index, child, mItemsLayout) : null;
+            if (view != child) {
+                // the row can not be rebound in place
+                invalidateWheel(false);
+                return;
+            }
+            mItemsRebound = true;
+        }
+        invalidate();
+    }
+
+    /**
+     * Moves items after inserting or removing items, the current item is kept on the same item if it is
+     * not removed. Shown items before the changed range are kept as they are.
+     *
+     * @param start the index of the first inserted or removed item
+     * @param delta the count of inserted items, or negative count of removed items
+     */
+    private void moveItems(int start, int delta) {
+        if (viewAdapter == null) {
+            return;
+        }
+        invalidateMeasure();
+
+        // the adapter may be ahead of the update if it is one of a batch
+        int itemCount = mNotifiedItemsCount + delta;
+        if (itemCount < 0) {
+            itemCount = viewAdapter.getItemsCount();
+        }
+        mNotifiedItemsCount = itemCount;
+
+        int old = mCurrentItem;
+        if (itemCount == 0 || itemCount == delta) {
+            // there are no items, or there were none before
+            mCurrentItem = 0;
+        } else if (mCurrentItem >= start - Math.min(delta, 0)) {
+            mCurrentItem += delta;
+        } else if (mCurrentItem >= start) {
+            // the current item is removed
+            mCurrentItem = Math.min(start, itemCount - 1);
+        }
+        mCurrentItem = Math.max(0, Math.min(mCurrentItem, itemCount - 1));
+
+        if (isCyclic || mItemsLayout == null || isDrawingText()) {
+            // cyclic indexes are all moved
+            invalidateWheel(false);
+        } else {
+            if (mTextLayoutCache != null) {
+                mTextLayoutCache.clear();
+            }
+            recycle.recyclePrefetchedViews();
+
+            int childCount = mItemsLayout.getChildCount();
+            if (firstItem >= start - Math.min(delta, 0)) {
+                firstItem += delta;
+            } else if (firstItem + childCount > start) {
+                // items from the changed range are built again
+                int from = Math.max(0, start - firstItem);
+                for (int i = childCount - 1; i >= from; i--) {
+                    recycle.recycleView(mItemsLayout.getChildAt(i), firstItem + i);
+                    mItemsLayout.removeViewAt(i);
+                }
+            }
+            invalidate();
+        }
+
+        if (old != mCurrentItem) {
+            notifyChangingListeners(old, mCurrentItem);
+        }
+        notifyPrefetchAdapter();
     }
 
     /**
@@ -413,6 +1216,11 @@ public class WheelView extends View {
      * @param clearCaches if true then cached views will be clear
      */
     public void invalidateWheel(boolean clearCaches) {
+        invalidateMeasure();
+        if (mTextLayoutCache != null) {
+            mTextLayoutCache.clear();
+        }
+        recycle.recyclePrefetchedViews();
         if (clearCaches) {
             recycle.clearAll();
             if (mItemsLayout != null) {
@@ -421,18 +1229,69 @@ public class WheelView extends View {
             mScrollingOffset = 0;
         } else if (mItemsLayout != null) {
             // cache all items
-            recycle.recycleItems(mItemsLayout, firstItem, new ItemsRange());
+            recycle.recycleItems(mItemsLayout, firstItem, mEmptyRange);
         }
 
         invalidate();
     }
 
+    /**
+     * Gets type of the item view
+     *
+     * @param adapter the adapter
+     * @param index   the item index
+     * @return the view type, 0 if the adapter has only one type of views
+     */
+    static int getItemViewType(WheelViewAdapter adapter, int index) {
+        if (adapter instanceof WheelViewTypeAdapter) {
+            return ((WheelViewTypeAdapter) adapter).getItemViewType(index);
+        }
+        return 0;
+    }
+
+    /**
+     * Gets fixed width of items set to the wheel or declared by the adapter
+     *
+     * @return the item width, 0 if items are measured
+     */
+    private int getFixedItemWidth() {
+        if (mFixedItemWidth > 0) {
+            return mFixedItemWidth;
+        }
+        if (viewAdapter instanceof WheelFixedSizeAdapter) {
+            return ((WheelFixedSizeAdapter) viewAdapter).getItemWidth();
+        }
+        return 0;
+    }
+
+    /**
+     * Gets fixed height of items set to the wheel or declared by the adapter
+     *
+     * @return the item height, 0 if items are measured
+     */
+    private int getFixedItemHeight() {
+        if (mFixedItemHeight > 0) {
+            return mFixedItemHeight;
+        }
+        if (viewAdapter instanceof WheelFixedSizeAdapter) {
+            return ((WheelFixedSizeAdapter) viewAdapter).getItemHeight();
+        }
+        return 0;
+    }
+
+    /**
+     * Makes the next measure pass measure items again
+     */
+    private void invalidateMeasure() {
+        mItemsVersion++;
+    }
+
     /**
      * Initializes resources
      */
     private void initResourcesIfNecessary() {
         if (mCenterFilter == null) {
-            mCenterFilter = getContext().getResources().getDrawable(R.drawable.wheel_val);
+            mCenterFilter = setChromeDrawable(null, getContext().getResources().getDrawable(R.drawable.wheel_val));
         }
     }
 
@@ -443,7 +1302,10 @@ public class WheelView extends View {
      * @return the desired layout height
      */
     private int getDesiredHeight(LinearLayout layout) {
-        if (layout != null && layout.getChildAt(0) != null) {
+        int fixedItemHeight = getFixedItemHeight();
+        if (fixedItemHeight > 0) {
+            mItemHeight = fixedItemHeight;
+        } else if (layout != null && layout.getChildAt(0) != null) {
             mItemHeight = layout.getChildAt(0).getMeasuredHeight();
         }
 
@@ -458,6 +1320,10 @@ public class WheelView extends View {
      * @return the item height
      */
     private int getItemHeight() {
+        int fixedItemHeight = getFixedItemHeight();
+        if (fixedItemHeight > 0) {
+            return fixedItemHeight;
+        }
         if (mItemHeight != 0) {
             return mItemHeight;
         }
@@ -479,7 +1345,6 @@ public class WheelView extends View {
      */
     private int calculateLayoutWidth(int widthSize, int mode) {
         initResourcesIfNecessary();
-        mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         mItemsLayout.measure(MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
                 MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
         int width = mItemsLayout.getMeasuredWidth();
@@ -503,6 +1368,76 @@ public class WheelView extends View {
         return width;
     }
 
+    /**
+     * Calculates control width from the text of visible items and updates the item height
+     * from the text paint.
+     *
+     * @param widthSize the input layout width
+     * @param mode      the layout mode
+     * @return the calculated control width
+     */
+    private int calculateTextWidth(int widthSize, int mode) {
+        initResourcesIfNecessary();
+        TextPaint paint = updateTextPaint();
+        mItemHeight = mFontMetrics.bottom - mFontMetrics.top;
+
+        int width;
+        if (mode == MeasureSpec.EXACTLY) {
+            width = widthSize;
+        } else {
+            float textWidth = 0;
+            int addItems = mVisibleItems / 2;
+            for (int i = mCurrentItem - addItems; i <= mCurrentItem + addItems; i++) {
+                CharSequence text = getItemText(i);
+                if (text != null) {
+                    textWidth = Math.max(textWidth, paint.measureText(text, 0, text.length()));
+                }
+            }
+            width = (int) Math.ceil(textWidth) + 2 * PADDING;
+
+            // Check against our minimum width
+            width = Math.max(width, getSuggestedMinimumWidth());
+
+            if (mode == MeasureSpec.AT_MOST && widthSize < width) {
+                width = widthSize;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Applies the text style of the adapter to the shared text paint.
+     *
+     * @return the text paint
+     */
+    private TextPaint updateTextPaint() {
+        if (mTextPaint == null) {
+            mTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+            mTextPaint.setTextAlign(Paint.Align.CENTER);
+            mTextPaint.setTypeface(Typeface.create(Typeface.SANS_SERIF, Typeface.BOLD));
+            mFontMetrics = new Paint.FontMetricsInt();
+        }
+        WheelTextAdapter adapter = (WheelTextAdapter) viewAdapter;
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, adapter.getTextSize(),
+                getContext().getResources().getDisplayMetrics());
+        mTextPaint.setTextSize(textSize);
+        mTextPaint.setColor(adapter.getTextColor());
+        mTextPaint.getFontMetricsInt(mFontMetrics);
+        return mTextPaint;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mChromeBitmap = null;
+        mChromeDirty = true;
+        mScroller.abortAnimation();
+        cancelPrefetch();
+        if (mEdgeGlow != null) {
+            mEdgeGlow.finish();
+        }
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -510,15 +1445,43 @@ public class WheelView extends View {
         int widthSize = MeasureSpec.getSize(widthMeasureSpec);
         int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 
-        buildViewForMeasuring();
+        // text size and item layouts of the adapter are changed without notifying the wheel
+        int textSize = viewAdapter instanceof WheelTextAdapter ? ((WheelTextAdapter) viewAdapter).getTextSize() : 0;
+        int itemResource = 0;
+        int itemTextResource = 0;
+        if (viewAdapter instanceof AbstractWheelTextAdapter) {
+            itemResource = ((AbstractWheelTextAdapter) viewAdapter).getItemResource();
+            itemTextResource = ((AbstractWheelTextAdapter) viewAdapter).getItemTextResource();
+        }
+        int fixedWidth = getFixedItemWidth();
+        int fixedHeight = getFixedItemHeight();
+
+        // nested layouts measure the wheel several times per layout pass
+        if (mMeasuredVersion == mItemsVersion && mMeasuredItem == mCurrentItem
+                && mMeasuredVisibleItems == mVisibleItems && mMeasuredWidthSpec == widthMeasureSpec
+                && mMeasuredHeightSpec == heightMeasureSpec && mMeasuredTextSize == textSize
+                && mMeasuredItemResource == itemResource && mMeasuredItemTextResource == itemTextResource
+                && mMeasuredFixedWidth == fixedWidth && mMeasuredFixedHeight == fixedHeight) {
+            setMeasuredDimension(mMeasuredWheelWidth, mMeasuredWheelHeight);
+            return;
+        }
 
-        int width = calculateLayoutWidth(widthSize, widthMode);
+        int width;
+        if (isDrawingText()) {
+            width = calculateTextWidth(widthSize, widthMode);
+        } else if (fixedWidth > 0 && fixedHeight > 0) {
+            initResourcesIfNecessary();
+            width = getFixedWidth(widthSize, widthMode);
+        } else {
+            buildViewForMeasuring();
+            width = calculateLayoutWidth(widthSize, widthMode);
+        }
 
         int height;
         if (heightMode == MeasureSpec.EXACTLY) {
             height = heightSize;
         } else {
-            height = getDesiredHeight(mItemsLayout);
+            height = getDesiredHeight(isDrawingText() ? null : mItemsLayout);
 
             if (heightMode == MeasureSpec.AT_MOST) {
                 height = Math.min(height, heightSize);
@@ -526,6 +1489,36 @@ public class WheelView extends View {
         }
 
         setMeasuredDimension(width, height);
+        mMeasuredVersion = mItemsVersion;
+        mMeasuredItem = mCurrentItem;
+        mMeasuredVisibleItems = mVisibleItems;
+        mMeasuredWidthSpec = widthMeasureSpec;
+        mMeasuredHeightSpec = heightMeasureSpec;
+        mMeasuredWheelWidth = width;
+        mMeasuredWheelHeight = height;
+        mMeasuredTextSize = textSize;
+        mMeasuredItemResource = itemResource;
+        mMeasuredItemTextResource = itemTextResource;
+        mMeasuredFixedWidth = fixedWidth;
+        mMeasuredFixedHeight = fixedHeight;
+    }
+
+    /**
+     * Calculates control width from the fixed item width
+     *
+     * @param widthSize the input layout width
+     * @param mode      the layout mode
+     * @return the calculated control width
+     */
+    private int getFixedWidth(int widthSize, int mode) {
+        if (mode == MeasureSpec.EXACTLY) {
+            return widthSize;
+        }
+        int width = Math.max(getFixedItemWidth() + 2 * PADDING, getSuggestedMinimumWidth());
+        if (mode == MeasureSpec.AT_MOST && widthSize < width) {
+            width = widthSize;
+        }
+        return width;
     }
 
     @Override
@@ -540,6 +1533,9 @@ public class WheelView extends View {
      * @param height the layout height
      */
     private void layout(int width, int height) {
+        if (mItemsLayout == null) {
+            return;
+        }
         int itemsWidth = width - 2 * PADDING;
 
         mItemsLayout.layout(0, 0, itemsWidth, height);
@@ -548,15 +1544,175 @@ public class WheelView extends View {
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        long drawStart = mMetrics != null ? System.nanoTime() : 0;
+        boolean rebuilt = false;
+        mDrawnItem = mCurrentItem;
+        mDrawnOffset = mScrollingOffset;
 
         if (viewAdapter != null && viewAdapter.getItemsCount() > 0) {
-            updateView();
+            if (isDrawingText()) {
+                drawTextItems(canvas);
+            } else {
+                rebuilt = updateView();
+
+                drawItems(canvas);
+            }
+        }
+
+        drawChrome(canvas, viewAdapter != null && viewAdapter.getItemsCount() > 0);
+
+        if (mEdgeGlow != null && !mEdgeGlow.isFinished() && mEdgeGlow.draw(canvas, getWidth(), getHeight())) {
+            invalidate();
+        }
+
+        if (mMetrics != null) {
+            mMetrics.recordFrame(System.nanoTime() - drawStart, rebuilt);
+            if (mMetrics.getFrameCount() >= METRICS_REPORT_FRAMES) {
+                reportMetrics();
+            }
+        }
+    }
+
+    /**
+     * Draws center filter and shadows. They are drawn from the cached bitmap if it is enabled, the bitmap
+     * holds only the bands covered by them and is redrawn when the size or the drawables change.
+     *
+     * @param canvas     the canvas for drawing
+     * @param drawCenter true to draw the center filter
+     */
+    private void drawChrome(Canvas canvas, boolean drawCenter) {
+        int width = getWidth();
+        int height = getHeight();
+        int itemHeight = getItemHeight();
+        if (width != mChromeWidth || height != mChromeHeight || itemHeight != mChromeItemHeight) {
+            mChromeWidth = width;
+            mChromeHeight = height;
+            mChromeItemHeight = itemHeight;
+            updateChromeBounds();
+            mChromeDirty = true;
+        }
+
+        if (!mChromeCacheEnabled || !drawCenter || width == 0 || height == 0) {
+            if (drawCenter) {
+                drawCenterRect(canvas);
+            }
+            drawShadows(canvas);
+            return;
+        }
+
+        if (mChromeBandsHeight == 0) {
+            return;
+        }
+        if (mChromeBitmap == null || mChromeBitmap.getWidth() != width
+                || mChromeBitmap.getHeight() != mChromeBandsHeight) {
+            mChromeBitmap = Bitmap.createBitmap(width, mChromeBandsHeight, Bitmap.Config.ARGB_8888);
+            mChromeDirty = true;
+        }
+
+        // the bands are stacked in the bitmap without the gaps between them
+        if (mChromeDirty) {
+            mChromeBitmap.eraseColor(0);
+            Canvas chromeCanvas = new Canvas(mChromeBitmap);
+            int top = 0;
+            for (int i = 0; i < mChromeBandCount; i++) {
+                int bandTop = mChromeBands[2 * i];
+                int bandHeight = mChromeBands[2 * i + 1] - bandTop;
+                chromeCanvas.save();
+                chromeCanvas.clipRect(0, top, width, top + bandHeight);
+                chromeCanvas.translate(0, top - bandTop);
+                drawCenterRect(chromeCanvas);
+                drawShadows(chromeCanvas);
+                chromeCanvas.restore();
+                top += bandHeight;
+            }
+            mChromeDirty = false;
+        }
+        int top = 0;
+        for (int i = 0; i < mChromeBandCount; i++) {
+            int bandTop = mChromeBands[2 * i];
+            int bandBottom = mChromeBands[2 * i + 1];
+            mChromeSrc.set(0, top, width, top + bandBottom - bandTop);
+            mChromeDst.set(0, bandTop, width, bandBottom);
+            canvas.drawBitmap(mChromeBitmap, mChromeSrc, mChromeDst, null);
+            top += bandBottom - bandTop;
+        }
+    }
+
+    /**
+     * Sets bounds of shadows and center filter
+     */
+    private void updateChromeBounds() {
+        int width = mChromeWidth;
+        int shadowHeight = (int) (1.5 * mChromeItemHeight);
+        if (mTopShadow != null) {
+            mTopShadow.setBounds(0, 0, width, shadowHeight);
+        }
+        if (mBottomShadow != null) {
+            mBottomShadow.setBounds(0, mChromeHeight - shadowHeight, width, mChromeHeight);
+        }
+        if (mCenterFilter != null) {
+            int center = mChromeHeight / 2;
+            int offset = (int) (mChromeItemHeight / 2 * 1.2);
+            mCenterFilter.setBounds(0, center - offset, width, center + offset);
+        }
+
+        mChromeBandCount = 0;
+        mChromeBandsHeight = 0;
+        addChromeBand(mTopShadow);
+        addChromeBand(mCenterFilter);
+        addChromeBand(mBottomShadow);
+    }
 
-            drawItems(canvas);
-            drawCenterRect(canvas);
+    /**
+     * Adds the band covered by the drawable to the cached bands, overlapping bands are merged
+     *
+     * @param drawable the shadow or center filter, may be null
+     */
+    private void addChromeBand(Drawable drawable) {
+        if (drawable == null) {
+            return;
+        }
+        Rect bounds = drawable.getBounds();
+        int top = Math.max(0, bounds.top);
+        int bottom = Math.min(mChromeHeight, bounds.bottom);
+        if (top >= bottom) {
+            return;
         }
 
-        drawShadows(canvas);
+        // keep bands sorted, merge the new band with the bands it touches
+        int[] bands = mChromeBands;
+        int count = 0;
+        int inserted = -1;
+        int[] merged = new int[6];
+        for (int i = 0; i < mChromeBandCount; i++) {
+            int bandTop = bands[2 * i];
+            int bandBottom = bands[2 * i + 1];
+            if (bandBottom < top || bandTop > bottom) {
+                if (inserted < 0 && bandTop > bottom) {
+                    inserted = count;
+                    merged[2 * count] = top;
+                    merged[2 * count + 1] = bottom;
+                    count++;
+                }
+                merged[2 * count] = bandTop;
+                merged[2 * count + 1] = bandBottom;
+                count++;
+            } else {
+                top = Math.min(top, bandTop);
+                bottom = Math.max(bottom, bandBottom);
+            }
+        }
+        if (inserted < 0) {
+            merged[2 * count] = top;
+            merged[2 * count + 1] = bottom;
+            count++;
+        }
+        System.arraycopy(merged, 0, bands, 0, 2 * count);
+        mChromeBandCount = count;
+        mChromeBandsHeight = 0;
+        for (int i = 0; i < count; i++) {
+            mChromeBandsHeight += bands[2 * i + 1] - bands[2 * i];
+        }
     }
 
     /**
@@ -565,14 +1721,11 @@ public class WheelView extends View {
      * @param canvas the canvas for drawing
      */
     private void drawShadows(Canvas canvas) {
-        int height = (int) (1.5 * getItemHeight());
         if (mTopShadow != null) {
-            mTopShadow.setBounds(0, 0, getWidth(), height);
             mTopShadow.draw(canvas);
         }
 
         if (mBottomShadow != null) {
-            mBottomShadow.setBounds(0, getHeight() - height, getWidth(), getHeight());
             mBottomShadow.draw(canvas);
         }
     }
@@ -593,16 +1746,87 @@ public class WheelView extends View {
         canvas.restore();
     }
 
+    /**
+     * Draws the text of items directly on the canvas
+     *
+     * @param canvas the canvas for drawing
+     */
+    private void drawTextItems(Canvas canvas) {
+        ItemsRange range = getItemsRange();
+        if (range == null) {
+            return;
+        }
+        TextPaint paint = mTextPaint != null ? mTextPaint : updateTextPaint();
+        int textColor = ((WheelTextAdapter) viewAdapter).getTextColor();
+        paint.setColor(textColor);
+
+        int itemHeight = getItemHeight();
+        int top = (getHeight() - itemHeight) / 2 + mScrollingOffset;
+        if (mTextLayoutCache != null && getWidth() > 2 * PADDING) {
+            TextPaint layoutPaint = updateLayoutPaint();
+            layoutPaint.setColor(textColor);
+            int itemCount = viewAdapter.getItemsCount();
+            for (int i = range.getFirst(); i <= range.getLast(); i++) {
+                CharSequence text = getItemText(i);
+                if (text != null) {
+                    // copies of an item on a cyclic wheel share the layout
+                    Layout layout = mTextLayoutCache.get(wrapIndex(i, itemCount), text, layoutPaint, mLayoutWidth);
+                    canvas.save();
+                    canvas.translate(PADDING, top + (i - mCurrentItem) * itemHeight
+                            + (itemHeight - layout.getHeight()) / 2);
+                    layout.draw(canvas);
+                    canvas.restore();
+                }
+            }
+            return;
+        }
+
+        int x = getWidth() / 2;
+        // texts are centered in items of a fixed height
+        int baseline = top - mFontMetrics.top + (itemHeight - (mFontMetrics.bottom - mFontMetrics.top)) / 2;
+        for (int i = range.getFirst(); i <= range.getLast(); i++) {
+            CharSequence text = getItemText(i);
+            if (text != null) {
+                int y = baseline + (i - mCurrentItem) * itemHeight;
+                canvas.drawText(text, 0, text.length(), x, y, paint);
+            }
+        }
+    }
+
+    /**
+     * Prepares the paint of cached text layouts. Clears the cache if the text size or the wheel
+     * width is changed.
+     *
+     * @return the layout paint
+     */
+    private TextPaint updateLayoutPaint() {
+        int layoutWidth = getWidth() - 2 * PADDING;
+        if (mLayoutPaint == null) {
+            mLayoutPaint = new TextPaint(mTextPaint);
+            mLayoutPaint.setTextAlign(Paint.Align.LEFT);
+            mTextLayoutCache.clear();
+        } else if (mLayoutPaint.getTextSize() != mTextPaint.getTextSize() || mLayoutWidth != layoutWidth) {
+            mLayoutPaint.setTextSize(mTextPaint.getTextSize());
+            mTextLayoutCache.clear();
+        }
+        mLayoutWidth = layoutWidth;
+
+        int capacity = TEXT_LAYOUT_CACHE_SCREENS * (mVisibleItems + 2);
+        if (mTextLayoutCache.getCapacity() < capacity) {
+            mTextLayoutCache = new TextLayoutCache(capacity);
+        }
+        return mLayoutPaint;
+    }
+
     /**
      * Draws rect for current value
      *
      * @param canvas the canvas for drawing
      */
     private void drawCenterRect(Canvas canvas) {
-        int center = getHeight() / 2;
-        int offset = (int) (getItemHeight() / 2 * 1.2);
-        mCenterFilter.setBounds(0, center - offset, getWidth(), center + offset);
-        mCenterFilter.draw(canvas);
+        if (mCenterFilter != null) {
+            mCenterFilter.draw(canvas);
+        }
     }
 
     @Override
@@ -631,18 +1855,36 @@ public class WheelView extends View {
                         notifyClickListenersAboutClick(mCurrentItem + items);
                     }
                 }
+                releaseEdgeGlow();
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                releaseEdgeGlow();
                 break;
         }
 
         return mScroller.onTouchEvent(event);
     }
 
+    /**
+     * Releases glows pulled by dragging
+     */
+    private void releaseEdgeGlow() {
+        if (mEdgeGlow != null && !mEdgeGlow.isFinished()) {
+            mEdgeGlow.onRelease();
+            invalidate();
+        }
+    }
+
     /**
      * Scrolls the wheel
      *
      * @param delta the scrolling value
      */
     private void doScroll(int delta) {
+        if (delta == 0) {
+            return;
+        }
         mScrollingOffset += delta;
 
         int itemHeight = getItemHeight();
@@ -664,10 +1906,7 @@ public class WheelView extends View {
                 count--;
             }
             // fix position by rotating
-            while (pos < 0) {
-                pos += itemCount;
-            }
-            pos %= itemCount;
+            pos = wrapIndex(pos, itemCount);
         } else {
             //
             if (pos < 0) {
@@ -688,8 +1927,6 @@ public class WheelView extends View {
         int offset = mScrollingOffset;
         if (pos != mCurrentItem) {
             setCurrentItem(pos, false);
-        } else {
-            invalidate();
         }
 
         // update offset
@@ -697,6 +1934,20 @@ public class WheelView extends View {
         if (mScrollingOffset > getHeight()) {
             mScrollingOffset = mScrollingOffset % getHeight() + getHeight();
         }
+        invalidateItems();
+    }
+
+    /**
+     * Invalidates the strip of items if the current item or the scrolling offset differs from the drawn
+     * ones. Shadows and center filter out of the strip do not change while the wheel is scrolled.
+     */
+    private void invalidateItems() {
+        if (mCurrentItem == mDrawnItem && mScrollingOffset == mDrawnOffset) {
+            return;
+        }
+        // texts drawn without layouts are not clipped to the strip
+        int inset = isDrawingText() && mTextLayoutCache == null ? 0 : PADDING;
+        invalidate(inset, 0, getWidth() - inset, getHeight());
     }
 
     /**
@@ -711,22 +1962,30 @@ public class WheelView extends View {
     }
 
     /**
-     * Calculates range for wheel items
+     * Gets distance of the current item from the center of the wheel
+     *
+     * @return the scrolling offset
+     */
+    int getScrollingOffset() {
+        return mScrollingOffset;
+    }
+
+    /**
+     * Calculates range for wheel items. The returned range is reused by the next call.
      *
      * @return the items range
      */
-    private ItemsRange getItemsRange() {
-        if (getItemHeight() == 0) {
+    ItemsRange getItemsRange() {
+        int itemHeight = getItemHeight();
+        if (itemHeight == 0) {
             return null;
         }
 
-        int first = mCurrentItem;
-        int count = 1;
-
-        while (count * getItemHeight() < getHeight()) {
-            first--;
-            count += 2; // top + bottom items
-        }
+        // top + bottom items until the wheel height is covered
+        int height = getHeight();
+        int addItems = height > itemHeight ? (height - itemHeight + 2 * itemHeight - 1) / (2 * itemHeight) : 0;
+        int first = mCurrentItem - addItems;
+        int count = 2 * addItems + 1;
 
         if (mScrollingOffset != 0) {
             if (mScrollingOffset > 0) {
@@ -735,11 +1994,19 @@ public class WheelView extends View {
             count++;
 
             // process empty items above the first or below the second
-            int emptyItems = mScrollingOffset / getItemHeight();
+            int emptyItems = mScrollingOffset / itemHeight;
             first -= emptyItems;
-            count += Math.asin(emptyItems);
+            // same results as the former "count += Math.asin(emptyItems)"
+            if (emptyItems == 1) {
+                count += 1;
+            } else if (emptyItems == -1) {
+                count -= 2;
+            } else if (emptyItems != 0) {
+                count = 0;
+            }
         }
-        return new ItemsRange(first, count);
+        mItemsRange.set(first, count);
+        return mItemsRange;
     }
 
     /**
@@ -787,12 +2054,43 @@ public class WheelView extends View {
 
     /**
      * Updates view. Rebuilds items and label if necessary, recalculate items sizes.
+     *
+     * @return true if items are rebuilt
+     */
+    private boolean updateView() {
+        if (rebuildItems() || mItemsRebound) {
+            mItemsRebound = false;
+            if (getFixedItemHeight() > 0) {
+                layoutFixedItems(getWidth(), getHeight());
+            } else {
+                calculateLayoutWidth(getWidth(), MeasureSpec.EXACTLY);
+                layout(getWidth(), getHeight());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lays out items with the fixed height. Only items whose size is not the fixed one are measured.
+     *
+     * @param width  the wheel width
+     * @param height the wheel height
      */
-    private void updateView() {
-        if (rebuildItems()) {
-            calculateLayoutWidth(getWidth(), MeasureSpec.EXACTLY);
-            layout(getWidth(), getHeight());
+    private void layoutFixedItems(int width, int height) {
+        int itemsWidth = width - 2 * PADDING;
+        int itemHeight = getFixedItemHeight();
+        int widthSpec = MeasureSpec.makeMeasureSpec(itemsWidth, MeasureSpec.EXACTLY);
+        int heightSpec = MeasureSpec.makeMeasureSpec(itemHeight, MeasureSpec.EXACTLY);
+        for (int i = 0; i < mItemsLayout.getChildCount(); i++) {
+            View child = mItemsLayout.getChildAt(i);
+            if (child.isLayoutRequested() || child.getMeasuredWidth() != itemsWidth
+                    || child.getMeasuredHeight() != itemHeight) {
+                child.measure(widthSpec, heightSpec);
+            }
+            child.layout(0, i * itemHeight, itemsWidth, (i + 1) * itemHeight);
         }
+        mItemsLayout.layout(0, 0, itemsWidth, height);
     }
 
     /**
@@ -802,6 +2100,7 @@ public class WheelView extends View {
         if (mItemsLayout == null) {
             mItemsLayout = new LinearLayout(getContext());
             mItemsLayout.setOrientation(LinearLayout.VERTICAL);
+            mItemsLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         }
     }
 
@@ -811,7 +2110,7 @@ public class WheelView extends View {
     private void buildViewForMeasuring() {
         // clear all items
         if (mItemsLayout != null) {
-            recycle.recycleItems(mItemsLayout, firstItem, new ItemsRange());
+            recycle.recycleItems(mItemsLayout, firstItem, mEmptyRange);
         } else {
             createItemsLayout();
         }
@@ -858,6 +2157,18 @@ public class WheelView extends View {
                 (isCyclic || index >= 0 && index < viewAdapter.getItemsCount());
     }
 
+    /**
+     * Wraps index of cyclic wheel into the range of items
+     *
+     * @param index the item index, may be negative or exceed the count
+     * @param count the count of items
+     * @return the index between 0 and count - 1
+     */
+    static int wrapIndex(int index, int count) {
+        index %= count;
+        return index < 0 ? index + count : index;
+    }
+
     /**
      * Returns view for specified item
      *
@@ -870,15 +2181,39 @@ public class WheelView extends View {
         }
         int count = viewAdapter.getItemsCount();
         if (!isValidItemIndex(index)) {
-            return viewAdapter.getEmptyItem(recycle.getEmptyItem(), mItemsLayout);
-        } else {
-            while (index < 0) {
-                index = count + index;
+            View view = viewAdapter.getEmptyItem(recycle.getEmptyItem(), mItemsLayout);
+            if (view != null) {
+                recycle.setViewType(view, WheelRecycle.VIEW_TYPE_EMPTY);
             }
+            return view;
         }
 
-        index %= count;
-        return viewAdapter.getItem(index, recycle.getItem(), mItemsLayout);
+        index = wrapIndex(index, count);
+        int viewType = getItemViewType(viewAdapter, index);
+        View view = recycle.takePrefetchedView(index, viewType);
+        if (view != null) {
+            return view;
+        }
+        view = viewAdapter.getItem(index, recycle.getItem(viewType, index), mItemsLayout);
+        if (view != null) {
+            recycle.setViewType(view, viewType);
+        }
+        return view;
+    }
+
+    /**
+     * Returns text for specified item in canvas text mode
+     *
+     * @param index the item index
+     * @return the item text or null if index is out of bounds
+     */
+    private CharSequence getItemText(int index) {
+        if (!isValidItemIndex(index)) {
+            return null;
+        }
+        index = wrapIndex(index, viewAdapter.getItemsCount());
+        CharSequence text = ((WheelTextAdapter) viewAdapter).getItemText(index);
+        return text != null ? text : "";
     }
 
     /**
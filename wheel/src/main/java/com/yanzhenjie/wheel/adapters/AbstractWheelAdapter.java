@@ -15,6 +15,7 @@
  */
 package com.yanzhenjie.wheel.adapters;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -25,15 +26,62 @@ import android.view.ViewGroup;
 /**
  * Abstract Wheel adapter.
  */
-public abstract class AbstractWheelAdapter implements WheelViewAdapter {
+public abstract class AbstractWheelAdapter implements WheelViewTypeAdapter {
+    /**
+     * Maximum count of pending updates, a whole data change is sent if there are more
+     */
+    private static final int MAX_PENDING_UPDATES = 16;
+
+    // Pending update types
+    private static final int UPDATE_CHANGE = 0;
+    private static final int UPDATE_INSERT = 1;
+    private static final int UPDATE_REMOVE = 2;
+
     // Observers
     private List<DataSetObserver> dataSetObservers;
 
+    // Batch of updates
+    private int batchDepth;
+    private boolean pendingChanged;
+    private boolean pendingInvalidated;
+    private List<int[]> pendingUpdates = new ArrayList<>();
+
+    // Key of cached views shared in a group of wheels, null if views are not shared
+    private Object viewPoolKey;
+
     @Override
     public View getEmptyItem(View convertView, ViewGroup parent) {
         return null;
     }
 
+    @Override
+    public int getItemViewType(int index) {
+        return 0;
+    }
+
+    /**
+     * Lets wheels of a {@link com.yanzhenjie.wheel.WheelGroup} share cached item views. Wheels share the views
+     * if their adapters have equal keys, so views created by these adapters must be interchangeable, for example
+     * adapters of the same class inflating the same layouts.
+     *
+     * @param key the key, or null to not share views
+     */
+    public void setViewPoolKey(Object key) {
+        if (viewPoolKey == null ? key != null : !viewPoolKey.equals(key)) {
+            viewPoolKey = key;
+            notifyDataInvalidatedEvent();
+        }
+    }
+
+    /**
+     * Gets key of cached item views shared in a group of wheels
+     *
+     * @return the key, or null if views are not shared
+     */
+    public Object getViewPoolKey() {
+        return viewPoolKey;
+    }
+
     @Override
     public void registerDataSetObserver(DataSetObserver observer) {
         if (dataSetObservers == null) {
@@ -49,21 +97,232 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
         }
     }
 
+    /**
+     * Starts a batch of updates. Until the matching {@link #endBatchUpdate()} notifications are not sent
+     * to observers, they are merged and sent at the end of the batch. Batches can be nested.
+     */
+    public void beginBatchUpdate() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of updates and sends the merged notifications
+     */
+    public void endBatchUpdate() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endBatchUpdate() without beginBatchUpdate()");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+
+        if (pendingInvalidated) {
+            pendingInvalidated = false;
+            pendingChanged = false;
+            dispatchDataInvalidated();
+        } else if (pendingChanged) {
+            pendingChanged = false;
+            dispatchDataChanged();
+        } else {
+            for (int i = 0; i < pendingUpdates.size(); i++) {
+                int[] update = pendingUpdates.get(i);
+                dispatchUpdate(update[0], update[1], update[2]);
+            }
+        }
+        pendingUpdates.clear();
+    }
+
+    /**
+     * Tests if a batch of updates is started
+     *
+     * @return true if notifications are postponed
+     */
+    public boolean isInBatchUpdate() {
+        return batchDepth > 0;
+    }
+
     /**
      * Notifies observers about data changing
      */
     protected void notifyDataChangedEvent() {
-        if (dataSetObservers != null) {
-            for (DataSetObserver observer : dataSetObservers) {
-                observer.onChanged();
-            }
+        if (batchDepth > 0) {
+            pendingChanged = true;
+            pendingUpdates.clear();
+        } else {
+            dispatchDataChanged();
         }
     }
 
+    /**
+     * Notifies observers that the content of the item is changed
+     *
+     * @param index the item index
+     */
+    protected void notifyItemChanged(int index) {
+        notifyItemRangeChanged(index, 1);
+    }
+
+    /**
+     * Notifies observers that the content of items in the range is changed
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    protected void notifyItemRangeChanged(int start, int count) {
+        notifyUpdate(UPDATE_CHANGE, start, count);
+    }
+
+    /**
+     * Notifies observers that the item is inserted
+     *
+     * @param index the index of the inserted item
+     */
+    protected void notifyItemInserted(int index) {
+        notifyItemRangeInserted(index, 1);
+    }
+
+    /**
+     * Notifies observers that items are inserted, items from the start are moved by the count
+     *
+     * @param start the index of the first inserted item
+     * @param count the count of inserted items
+     */
+    protected void notifyItemRangeInserted(int start, int count) {
+        notifyUpdate(UPDATE_INSERT, start, count);
+    }
+
+    /**
+     * Notifies observers that the item is removed
+     *
+     * @param index the index of the removed item
+     */
+    protected void notifyItemRemoved(int index) {
+        notifyItemRangeRemoved(index, 1);
+    }
+
+    /**
+     * Notifies observers that items are removed, items after the range are moved back by the count
+     *
+     * @param start the index of the first removed item
+     * @param count the count of removed items
+     */
+    protected void notifyItemRangeRemoved(int start, int count) {
+        notifyUpdate(UPDATE_REMOVE, start, count);
+    }
+
     /**
      * Notifies observers about invalidating data
      */
     protected void notifyDataInvalidatedEvent() {
+        if (batchDepth > 0) {
+            pendingInvalidated = true;
+            pendingUpdates.clear();
+        } else {
+            dispatchDataInvalidated();
+        }
+    }
+
+    /**
+     * Sends the update or adds it to the batch merging with the previous one if possible
+     */
+    private void notifyUpdate(int type, int start, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (batchDepth == 0) {
+            dispatchUpdate(type, start, count);
+            return;
+        }
+        if (pendingChanged || pendingInvalidated) {
+            return;
+        }
+
+        int size = pendingUpdates.size();
+        if (size > 0) {
+            int[] last = pendingUpdates.get(size - 1);
+            if (last[0] == type && mergeUpdate(last, start, count)) {
+                return;
+            }
+        }
+        if (size == MAX_PENDING_UPDATES) {
+            pendingChanged = true;
+            pendingUpdates.clear();
+            return;
+        }
+        pendingUpdates.add(new int[]{type, start, count});
+    }
+
+    /**
+     * Merges the update into the previous update of the same type
+     *
+     * @return true if the updates are merged
+     */
+    private static boolean mergeUpdate(int[] last, int start, int count) {
+        int lastStart = last[1];
+        int lastEnd = lastStart + last[2];
+        switch (last[0]) {
+            case UPDATE_CHANGE:
+                if (start <= lastEnd && start + count >= lastStart) {
+                    last[1] = Math.min(lastStart, start);
+                    last[2] = Math.max(lastEnd, start + count) - last[1];
+                    return true;
+                }
+                return false;
+            case UPDATE_INSERT:
+                if (start >= lastStart && start <= lastEnd) {
+                    last[2] += count;
+                    return true;
+                }
+                return false;
+            case UPDATE_REMOVE:
+                if (start == lastStart) {
+                    last[2] += count;
+                    return true;
+                }
+                if (start + count == lastStart) {
+                    last[1] = start;
+                    last[2] += count;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private void dispatchUpdate(int type, int start, int count) {
+        if (dataSetObservers == null) {
+            return;
+        }
+        for (DataSetObserver observer : dataSetObservers) {
+            if (!(observer instanceof WheelDataObserver)) {
+                observer.onChanged();
+                continue;
+            }
+            WheelDataObserver wheelObserver = (WheelDataObserver) observer;
+            switch (type) {
+                case UPDATE_INSERT:
+                    wheelObserver.onItemRangeInserted(start, count);
+                    break;
+                case UPDATE_REMOVE:
+                    wheelObserver.onItemRangeRemoved(start, count);
+                    break;
+                default:
+                    wheelObserver.onItemRangeChanged(start, count);
+                    break;
+            }
+        }
+    }
+
+    private void dispatchDataChanged() {
+        if (dataSetObservers != null) {
+            for (DataSetObserver observer : dataSetObservers) {
+                observer.onChanged();
+            }
+        }
+    }
+
+    private void dispatchDataInvalidated() {
         if (dataSetObservers != null) {
             for (DataSetObserver observer : dataSetObservers) {
                 observer.onInvalidated();
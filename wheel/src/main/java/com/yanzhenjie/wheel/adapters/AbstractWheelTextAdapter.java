@@ -24,6 +24,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
+import com.yanzhenjie.wheel.R;
+
 /**
  * Abstract wheel adapter provides common functionality for adapters.
  */
@@ -57,6 +59,10 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
     // Text settings
     private int textColor = DEFAULT_TEXT_COLOR;
     private int textSize = DEFAULT_TEXT_SIZE;
+    // Changed when text settings change, text views configured with the current style are not reconfigured.
+    // Styles are unique across adapters, so views shared by wheels are reconfigured for another adapter.
+    private static int sLastTextStyle;
+    private int textStyle = ++sLastTextStyle;
 
     // Current context
     protected Context context;
@@ -120,6 +126,7 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextColor(int textColor) {
         this.textColor = textColor;
+        invalidateTextStyle();
     }
 
     /**
@@ -138,6 +145,15 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      */
     public void setTextSize(int textSize) {
         this.textSize = textSize;
+        invalidateTextStyle();
+    }
+
+    /**
+     * Makes text views configured again when they are bound next time.
+     * Subclasses call it when a setting used by {@link #configureTextView(TextView)} changes.
+     */
+    protected void invalidateTextStyle() {
+        textStyle = ++sLastTextStyle;
     }
 
     /**
@@ -155,7 +171,11 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      * @param itemResourceId the resource Id to set
      */
     public void setItemResource(int itemResourceId) {
-        this.itemResourceId = itemResourceId;
+        if (this.itemResourceId != itemResourceId) {
+            this.itemResourceId = itemResourceId;
+            // views already created from the old resource can not be reused
+            notifyDataInvalidatedEvent();
+        }
     }
 
     /**
@@ -173,7 +193,11 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      * @param itemTextResourceId the item text resource Id to set
      */
     public void setItemTextResource(int itemTextResourceId) {
-        this.itemTextResourceId = itemTextResourceId;
+        if (this.itemTextResourceId != itemTextResourceId) {
+            this.itemTextResourceId = itemTextResourceId;
+            // views already created from the old resource can not be reused
+            notifyDataInvalidatedEvent();
+        }
     }
 
     /**
@@ -191,7 +215,11 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
      * @param emptyItemResourceId the empty item resource Id to set
      */
     public void setEmptyItemResource(int emptyItemResourceId) {
-        this.emptyItemResourceId = emptyItemResourceId;
+        if (this.emptyItemResourceId != emptyItemResourceId) {
+            this.emptyItemResourceId = emptyItemResourceId;
+            // views already created from the old resource can not be reused
+            notifyDataInvalidatedEvent();
+        }
     }
 
 
@@ -215,10 +243,13 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
                 if (text == null) {
                     text = "";
                 }
-                textView.setText(text);
+                // a view that showed the same item is not relaid out
+                if (textView.getText() != text) {
+                    textView.setText(text);
+                }
 
                 if (itemResourceId == TEXT_VIEW_ITEM_RESOURCE) {
-                    configureTextView(textView);
+                    configureTextViewIfNecessary(textView);
                 }
             }
             return convertView;
@@ -232,14 +263,44 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
             convertView = getView(emptyItemResourceId, parent);
         }
         if (emptyItemResourceId == TEXT_VIEW_ITEM_RESOURCE && convertView instanceof TextView) {
-            configureTextView((TextView) convertView);
+            configureTextViewIfNecessary((TextView) convertView);
         }
 
         return convertView;
     }
 
     /**
-     * Configures text view. Is called for the TEXT_VIEW_ITEM_RESOURCE views.
+     * Configures text view unless the configuration is stable and the view is already configured
+     * with the current text settings.
+     *
+     * @param view the text view to be configured
+     */
+    private void configureTextViewIfNecessary(TextView view) {
+        if (!isTextViewConfigurationStable()) {
+            configureTextView(view);
+            return;
+        }
+        Object style = view.getTag(R.id.wheel_text_style);
+        if (!(style instanceof Integer) || (Integer) style != textStyle) {
+            configureTextView(view);
+            view.setTag(R.id.wheel_text_style, textStyle);
+        }
+    }
+
+    /**
+     * Tests whether {@link #configureTextView(TextView)} depends only on the text color, size and
+     * the other text settings of the adapter. A recycled view that is already configured with the
+     * current settings is then not configured again when it is bound to another item.
+     *
+     * @return true to configure a view only once per text settings, false by default
+     */
+    protected boolean isTextViewConfigurationStable() {
+        return false;
+    }
+
+    /**
+     * Configures text view. Is called for the TEXT_VIEW_ITEM_RESOURCE views every time they are bound,
+     * or only when the text settings change if {@link #isTextViewConfigurationStable()} returns true.
      *
      * @param view the text view to be configured
      */
@@ -22,7 +22,7 @@ import android.content.Context;
  *
  * @param <T> the element type
  */
-public class ArrayWheelAdapter<T> extends AbstractWheelTextAdapter {
+public class ArrayWheelAdapter<T> extends AbstractWheelTextAdapter implements WheelTextAdapter {
 
     // items
     private T items[];
@@ -0,0 +1,359 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.SparseArray;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Text adapter whose items are loaded in background, for example from a database.
+ * <p>An item which is not loaded yet shows a placeholder text, the item is loaded on an executor and
+ * only its row is rebound when it arrives. Items around the current one are prefetched, loads of items
+ * the wheel has scrolled away from are cancelled.</p>
+ *
+ * @param <T> the loaded item type
+ */
+public abstract class AsyncWheelAdapter<T> extends AbstractWheelTextAdapter
+        implements WheelTextAdapter, WheelPrefetchAdapter {
+
+    /**
+     * Default count of items loaded before and after the shown ones
+     */
+    private static final int DEFAULT_PREFETCH_DISTANCE = 5;
+
+    /**
+     * Count of loaded items kept before items out of the prefetch window are released
+     */
+    private static final int MAX_LOADED_ITEMS = 128;
+
+    // Marks an item loaded as null
+    private static final Object NULL_ITEM = new Object();
+
+    // Default executor shared by adapters
+    private static ExecutorService sDefaultExecutor;
+
+    // Loading
+    private final Executor executor;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private SparseArray<Object> loadedItems = new SparseArray<>();
+    private SparseArray<LoadTask> pendingTasks = new SparseArray<>();
+
+    // Prefetch window
+    private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+    private int windowFirst;
+    private int windowLast = -1;
+    private boolean isWindowCyclic;
+
+    // Placeholder text
+    private CharSequence placeholder = "";
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     */
+    protected AsyncWheelAdapter(Context context) {
+        this(context, getDefaultExecutor());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context  the current context
+     * @param executor the executor items are loaded on
+     */
+    protected AsyncWheelAdapter(Context context, Executor executor) {
+        super(context);
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the item. Is called on a background thread. An item whose load throws is logged and
+     * loaded again when the wheel asks for it next time.
+     *
+     * @param index the item index
+     * @return the loaded item
+     */
+    protected abstract T loadItem(int index);
+
+    /**
+     * Returns text for the loaded item
+     *
+     * @param index the item index
+     * @param item  the loaded item
+     * @return the text of item
+     */
+    protected abstract CharSequence getItemText(int index, T item);
+
+    /**
+     * Sets text shown while an item is being loaded
+     *
+     * @param placeholder the placeholder text
+     */
+    public void setPlaceholder(CharSequence placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Sets count of items loaded before and after the items shown by the wheel
+     *
+     * @param prefetchDistance the count of items
+     */
+    public void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    /**
+     * Tests whether the item is loaded
+     *
+     * @param index the item index
+     * @return true if the item is loaded
+     */
+    public boolean isItemLoaded(int index) {
+        return loadedItems.get(index) != null;
+    }
+
+    /**
+     * Drops all loaded items and cancels pending loads, so items are loaded again.
+     */
+    public void reload() {
+        cancelAll();
+        loadedItems.clear();
+        notifyDataChangedEvent();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CharSequence getItemText(int index) {
+        if (index < 0 || index >= getItemsCount()) {
+            return null;
+        }
+        Object item = loadedItems.get(index);
+        if (item == null) {
+            load(index);
+            return placeholder;
+        }
+        return getItemText(index, item == NULL_ITEM ? null : (T) item);
+    }
+
+    @Override
+    public void prefetchItems(int first, int last, boolean cyclic) {
+        int count = getItemsCount();
+        if (count == 0) {
+            return;
+        }
+        windowFirst = first - prefetchDistance;
+        windowLast = last + prefetchDistance;
+        isWindowCyclic = cyclic;
+
+        // cancel loads of items the wheel has scrolled away from
+        for (int i = pendingTasks.size() - 1; i >= 0; i--) {
+            if (!isInWindow(pendingTasks.keyAt(i), count)) {
+                pendingTasks.valueAt(i).isCancelled = true;
+                pendingTasks.removeAt(i);
+            }
+        }
+        if (loadedItems.size() > MAX_LOADED_ITEMS) {
+            for (int i = loadedItems.size() - 1; i >= 0; i--) {
+                if (!isInWindow(loadedItems.keyAt(i), count)) {
+                    loadedItems.removeAt(i);
+                }
+            }
+        }
+
+        // load from the middle of window to its edges
+        int center = first + (last - first) / 2;
+        for (int distance = 0; distance <= center - windowFirst || distance <= windowLast - center; distance++) {
+            prefetch(center + distance, count);
+            if (distance > 0) {
+                prefetch(center - distance, count);
+            }
+        }
+    }
+
+    /**
+     * Loads the item if it is in the prefetch window
+     *
+     * @param index the item index, may be out of range
+     * @param count the count of items
+     */
+    private void prefetch(int index, int count) {
+        if (index < windowFirst || index > windowLast) {
+            return;
+        }
+        if (isWindowCyclic) {
+            index %= count;
+            if (index < 0) {
+                index += count;
+            }
+        } else if (index < 0 || index >= count) {
+            return;
+        }
+        if (loadedItems.get(index) == null) {
+            load(index);
+        }
+    }
+
+    /**
+     * Tests whether the item is in the prefetch window
+     *
+     * @param index the item index
+     * @param count the count of items
+     * @return true if the item is in the window
+     */
+    private boolean isInWindow(int index, int count) {
+        if (windowLast < windowFirst) {
+            return false;
+        }
+        if (!isWindowCyclic) {
+            return index >= windowFirst && index <= windowLast;
+        }
+        if (windowLast - windowFirst + 1 >= count) {
+            return true;
+        }
+        int offset = (index - windowFirst) % count;
+        if (offset < 0) {
+            offset += count;
+        }
+        return offset <= windowLast - windowFirst;
+    }
+
+    /**
+     * Starts loading the item unless it is being loaded
+     *
+     * @param index the item index
+     */
+    private void load(int index) {
+        if (pendingTasks.get(index) != null) {
+            return;
+        }
+        LoadTask task = new LoadTask(index);
+        pendingTasks.put(index, task);
+        executor.execute(task);
+    }
+
+    /**
+     * Stores the loaded item and rebinds its row
+     *
+     * @param task the finished task
+     * @param item the loaded item
+     */
+    private void onItemLoaded(LoadTask task, T item) {
+        if (task.isCancelled || pendingTasks.get(task.index) != task) {
+            return;
+        }
+        pendingTasks.remove(task.index);
+        loadedItems.put(task.index, item != null ? item : NULL_ITEM);
+        notifyItemChanged(task.index);
+    }
+
+    /**
+     * Forgets the failed load, so a later request of the item loads it again
+     *
+     * @param task the failed task
+     */
+    private void onItemLoadFailed(LoadTask task) {
+        if (pendingTasks.get(task.index) == task) {
+            pendingTasks.remove(task.index);
+        }
+    }
+
+    /**
+     * Cancels all pending loads
+     */
+    private void cancelAll() {
+        for (int i = 0; i < pendingTasks.size(); i++) {
+            pendingTasks.valueAt(i).isCancelled = true;
+        }
+        pendingTasks.clear();
+    }
+
+    /**
+     * Gets executor shared by adapters created without an executor
+     *
+     * @return the default executor
+     */
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "AsyncWheelAdapter");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+
+    /**
+     * Loads an item in background and delivers it on the main thread
+     */
+    private class LoadTask implements Runnable {
+
+        private final int index;
+        private volatile boolean isCancelled;
+
+        LoadTask(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled) {
+                return;
+            }
+            T item = null;
+            boolean isLoaded = false;
+            try {
+                item = loadItem(index);
+                isLoaded = true;
+            } catch (RuntimeException e) {
+                Log.e("AsyncWheelAdapter", "Failed to load item " + index, e);
+            } finally {
+                deliver(item, isLoaded);
+            }
+        }
+
+        /**
+         * Delivers result of the load on the main thread
+         *
+         * @param item     the loaded item
+         * @param isLoaded false if the load failed
+         */
+        private void deliver(final T item, final boolean isLoaded) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (isLoaded) {
+                        onItemLoaded(LoadTask.this, item);
+                    } else {
+                        onItemLoadFailed(LoadTask.this);
+                    }
+                }
+            });
+        }
+    }
+}
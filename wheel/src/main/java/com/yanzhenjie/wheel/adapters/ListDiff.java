@@ -0,0 +1,288 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Difference of two lists computed by the Myers algorithm in linear space.
+ * <p>The difference is kept as updates in the order they have to be applied, every update is related
+ * to the list the previous updates have been applied to, so items before an update are the new ones
+ * and items after it are still the old ones.</p>
+ */
+final class ListDiff {
+
+    /**
+     * Compares items of the old and new list
+     */
+    interface Callback {
+        /**
+         * Tests whether the old and new item are the same item
+         */
+        boolean areItemsTheSame(int oldIndex, int newIndex);
+
+        /**
+         * Tests whether the same item shows the same content
+         */
+        boolean areContentsTheSame(int oldIndex, int newIndex);
+    }
+
+    // Update types
+    static final int UPDATE_CHANGE = 0;
+    static final int UPDATE_INSERT = 1;
+    static final int UPDATE_REMOVE = 2;
+
+    // Updates as triples of type, start and count
+    private int[] updates = new int[24];
+    private int size;
+
+    private ListDiff() {
+    }
+
+    /**
+     * Gets count of updates
+     *
+     * @return the count of updates
+     */
+    int getUpdatesCount() {
+        return size;
+    }
+
+    int getUpdateType(int update) {
+        return updates[update * 3];
+    }
+
+    int getUpdateStart(int update) {
+        return updates[update * 3 + 1];
+    }
+
+    int getUpdateCount(int update) {
+        return updates[update * 3 + 2];
+    }
+
+    /**
+     * Sends the updates to observers of the adapter in one batch
+     *
+     * @param adapter the adapter whose items are already replaced
+     */
+    void dispatchUpdates(AbstractWheelAdapter adapter) {
+        adapter.beginBatchUpdate();
+        try {
+            for (int i = 0; i < size; i++) {
+                int start = getUpdateStart(i);
+                int count = getUpdateCount(i);
+                switch (getUpdateType(i)) {
+                    case UPDATE_INSERT:
+                        adapter.notifyItemRangeInserted(start, count);
+                        break;
+                    case UPDATE_REMOVE:
+                        adapter.notifyItemRangeRemoved(start, count);
+                        break;
+                    default:
+                        adapter.notifyItemRangeChanged(start, count);
+                        break;
+                }
+            }
+        } finally {
+            adapter.endBatchUpdate();
+        }
+    }
+
+    /**
+     * Computes difference of lists
+     *
+     * @param oldSize  the size of the old list
+     * @param newSize  the size of the new list
+     * @param callback the items comparator
+     * @return the difference
+     */
+    static ListDiff compute(int oldSize, int newSize, Callback callback) {
+        List<int[]> snakes = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        ranges.add(new int[]{0, oldSize, 0, newSize});
+
+        int max = (oldSize + newSize + 1) / 2;
+        int[] forward = new int[max * 2 + 3];
+        int[] backward = new int[max * 2 + 3];
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.remove(ranges.size() - 1);
+            int[] snake = findMiddleSnake(range, callback, forward, backward);
+            if (snake == null) {
+                continue;
+            }
+            if (snake[2] > 0) {
+                snakes.add(snake);
+            }
+            if (snake[3] > range[0] || snake[4] > range[2]) {
+                ranges.add(new int[]{range[0], snake[3], range[2], snake[4]});
+            }
+            if (snake[5] < range[1] || snake[6] < range[3]) {
+                ranges.add(new int[]{snake[5], range[1], snake[6], range[3]});
+            }
+        }
+        sortSnakes(snakes);
+
+        ListDiff diff = new ListDiff();
+        int position = 0;
+        int oldPosition = 0;
+        int newPosition = 0;
+        for (int i = 0; i <= snakes.size(); i++) {
+            int[] snake = i < snakes.size() ? snakes.get(i) : new int[]{oldSize, newSize, 0};
+            int removed = snake[0] - oldPosition;
+            int inserted = snake[1] - newPosition;
+            diff.addUpdate(UPDATE_REMOVE, position, removed);
+            diff.addUpdate(UPDATE_INSERT, position, inserted);
+            position += inserted;
+            for (int j = 0; j < snake[2]; j++) {
+                if (!callback.areContentsTheSame(snake[0] + j, snake[1] + j)) {
+                    diff.addUpdate(UPDATE_CHANGE, position + j, 1);
+                }
+            }
+            position += snake[2];
+            oldPosition = snake[0] + snake[2];
+            newPosition = snake[1] + snake[2];
+        }
+        return diff;
+    }
+
+    /**
+     * Finds the middle snake of the shortest edit path in the range. The edit next to the snake is
+     * left out of both parts of the range, so every part is smaller than the range.
+     *
+     * @return the snake as x, y and size, the end of the part before and the start of the part after it,
+     * or null if one of lists in the range is empty
+     */
+    private static int[] findMiddleSnake(int[] range, Callback callback, int[] forward, int[] backward) {
+        int oldStart = range[0];
+        int newStart = range[2];
+        int n = range[1] - oldStart;
+        int m = range[3] - newStart;
+        if (n < 1 || m < 1) {
+            return null;
+        }
+
+        // diagonal k = x - y, arrays are shifted by offset
+        int delta = n - m;
+        int max = (n + m + 1) / 2;
+        int offset = max + 1;
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        boolean odd = (delta & 1) != 0;
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                int previousX;
+                int previousY;
+                if (k == -d || k != d && forward[offset + k - 1] < forward[offset + k + 1]) {
+                    x = forward[offset + k + 1];
+                    previousX = x;
+                    previousY = x - k - 1;
+                } else {
+                    x = forward[offset + k - 1] + 1;
+                    previousX = x - 1;
+                    previousY = x - k;
+                }
+                int y = x - k;
+                if (d == 0) {
+                    previousX = x;
+                    previousY = y;
+                }
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && x >= 0 && y >= 0
+                        && callback.areItemsTheSame(oldStart + x, newStart + y)) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+                if (odd && k >= delta - d + 1 && k <= delta + d - 1
+                        && x >= n - backward[offset + delta - k]) {
+                    return new int[]{oldStart + startX, newStart + startY, x - startX,
+                            oldStart + previousX, newStart + previousY, oldStart + x, newStart + y};
+                }
+            }
+            // backward diagonals are mirrored, c = (n - x) - (m - y)
+            for (int c = -d; c <= d; c += 2) {
+                int x;
+                int previousX;
+                int previousY;
+                if (c == -d || c != d && backward[offset + c - 1] < backward[offset + c + 1]) {
+                    x = backward[offset + c + 1];
+                    previousX = x;
+                    previousY = x - c - 1;
+                } else {
+                    x = backward[offset + c - 1] + 1;
+                    previousX = x - 1;
+                    previousY = x - c;
+                }
+                int y = x - c;
+                if (d == 0) {
+                    previousX = x;
+                    previousY = y;
+                }
+                int endX = x;
+                while (x < n && y < m && x >= 0 && y >= 0
+                        && callback.areItemsTheSame(oldStart + n - x - 1, newStart + m - y - 1)) {
+                    x++;
+                    y++;
+                }
+                backward[offset + c] = x;
+                int k = delta - c;
+                if (!odd && k >= -d && k <= d && forward[offset + k] >= n - x) {
+                    return new int[]{oldStart + n - x, newStart + m - y, x - endX,
+                            oldStart + n - x, newStart + m - y, oldStart + n - previousX, newStart + m - previousY};
+                }
+            }
+        }
+        throw new IllegalStateException("Lists can not be compared");
+    }
+
+    private void addUpdate(int type, int start, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (size > 0 && type == UPDATE_CHANGE && getUpdateType(size - 1) == UPDATE_CHANGE
+                && getUpdateStart(size - 1) + getUpdateCount(size - 1) == start) {
+            updates[(size - 1) * 3 + 2] += count;
+            return;
+        }
+        if (updates.length < (size + 1) * 3) {
+            int[] grown = new int[updates.length * 2];
+            System.arraycopy(updates, 0, grown, 0, size * 3);
+            updates = grown;
+        }
+        updates[size * 3] = type;
+        updates[size * 3 + 1] = start;
+        updates[size * 3 + 2] = count;
+        size++;
+    }
+
+    /**
+     * Sorts snakes by position, snakes never overlap
+     */
+    private static void sortSnakes(List<int[]> snakes) {
+        for (int i = 1; i < snakes.size(); i++) {
+            int[] snake = snakes.get(i);
+            int j = i - 1;
+            while (j >= 0 && snakes.get(j)[0] > snake[0]) {
+                snakes.set(j + 1, snakes.get(j));
+                j--;
+            }
+            snakes.set(j + 1, snake);
+        }
+    }
+}
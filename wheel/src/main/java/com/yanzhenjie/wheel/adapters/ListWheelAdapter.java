@@ -0,0 +1,210 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Text adapter of a list whose items are replaced by {@link #setItems(List)}.
+ * <p>The old and new list are compared in background, only the inserted, removed and changed items are
+ * notified, so the wheel keeps the current item on the same item and reuses the views of unchanged items.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public class ListWheelAdapter<T> extends AbstractWheelTextAdapter implements WheelTextAdapter {
+
+    // Default executor shared by adapters
+    private static ExecutorService sDefaultExecutor;
+
+    // Diffing
+    private final Executor executor;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private int generation;
+
+    // items
+    private List<T> items = Collections.emptyList();
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     */
+    public ListWheelAdapter(Context context) {
+        this(context, getDefaultExecutor());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context  the current context
+     * @param executor the executor lists are compared on
+     */
+    public ListWheelAdapter(Context context, Executor executor) {
+        super(context);
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the shown items
+     *
+     * @return the unmodifiable list of items
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Gets the item
+     *
+     * @param index the item index
+     * @return the item or null if the index is wrong
+     */
+    public T getListItem(int index) {
+        if (index >= 0 && index < items.size()) {
+            return items.get(index);
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the items. The items are shown after the new list is compared with the old one, if the items
+     * are replaced again before that the previous list is never shown.
+     *
+     * @param newItems the new items, the list is copied
+     */
+    public void setItems(List<T> newItems) {
+        final List<T> oldItems = items;
+        final List<T> copy = newItems == null ? Collections.<T>emptyList() : new ArrayList<>(newItems);
+        final int taskGeneration = ++generation;
+        if (oldItems.isEmpty() || copy.isEmpty()) {
+            // nothing to compare
+            items = copy;
+            beginBatchUpdate();
+            notifyItemRangeRemoved(0, oldItems.size());
+            notifyItemRangeInserted(0, copy.size());
+            endBatchUpdate();
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final ListDiff diff = ListDiff.compute(oldItems.size(), copy.size(), new ListDiff.Callback() {
+                    @Override
+                    public boolean areItemsTheSame(int oldIndex, int newIndex) {
+                        return ListWheelAdapter.this.areItemsTheSame(oldItems.get(oldIndex), copy.get(newIndex));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldIndex, int newIndex) {
+                        return ListWheelAdapter.this.areContentsTheSame(oldItems.get(oldIndex),
+                                copy.get(newIndex));
+                    }
+                });
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (taskGeneration == generation) {
+                            items = copy;
+                            diff.dispatchUpdates(ListWheelAdapter.this);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Tests whether the old and new item are the same item, for example have the same id.
+     * Is called on a background thread.
+     *
+     * @param oldItem the item of old list
+     * @param newItem the item of new list
+     * @return true if the items are the same
+     */
+    protected boolean areItemsTheSame(T oldItem, T newItem) {
+        return oldItem == null ? newItem == null : oldItem.equals(newItem);
+    }
+
+    /**
+     * Tests whether the same item shows the same content, the row of item is rebound if it is not.
+     * Is called on a background thread.
+     *
+     * @param oldItem the item of old list
+     * @param newItem the item of new list
+     * @return true if the contents are the same
+     */
+    protected boolean areContentsTheSame(T oldItem, T newItem) {
+        return TextUtils.equals(toText(oldItem), toText(newItem));
+    }
+
+    /**
+     * Returns text for the item
+     *
+     * @param item the item
+     * @return the text of item
+     */
+    protected CharSequence toText(T item) {
+        if (item instanceof CharSequence) {
+            return (CharSequence) item;
+        }
+        return item == null ? null : item.toString();
+    }
+
+    @Override
+    public CharSequence getItemText(int index) {
+        if (index >= 0 && index < items.size()) {
+            return toText(items.get(index));
+        }
+        return null;
+    }
+
+    @Override
+    public int getItemsCount() {
+        return items.size();
+    }
+
+    /**
+     * Gets executor shared by adapters created without an executor
+     *
+     * @return the default executor
+     */
+    private static synchronized Executor getDefaultExecutor() {
+        if (sDefaultExecutor == null) {
+            sDefaultExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ListWheelAdapter");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sDefaultExecutor;
+    }
+}
@@ -17,10 +17,12 @@ package com.yanzhenjie.wheel.adapters;
 
 import android.content.Context;
 
+import java.text.DecimalFormatSymbols;
+
 /**
  * Numeric Wheel adapter.
  */
-public class NumericWheelAdapter extends AbstractWheelTextAdapter {
+public class NumericWheelAdapter extends AbstractWheelTextAdapter implements WheelTextAdapter {
 
     /**
      * The default min value
@@ -32,6 +34,11 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
      */
     private static final int DEFAULT_MIN_VALUE = 0;
 
+    /**
+     * Maximum count of items whose texts are cached
+     */
+    private static final int MAX_CACHED_ITEMS = 512;
+
     // Values
     private int minValue;
     private int maxValue;
@@ -39,6 +46,14 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
     // format
     private String format;
 
+    // Zero padded format "prefix%0Nd suffix", width is -1 if format is not such a pattern
+    private String formatPrefix;
+    private String formatSuffix;
+    private int formatWidth = -1;
+
+    // Cached texts
+    private CharSequence[] itemTexts;
+
     /**
      * Constructor
      *
@@ -73,17 +88,192 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
         this.minValue = minValue;
         this.maxValue = maxValue;
         this.format = format;
+        parseFormat();
+    }
+
+    /**
+     * Gets the wheel min value
+     *
+     * @return the min value
+     */
+    public int getMinValue() {
+        return minValue;
+    }
+
+    /**
+     * Sets the wheel min value
+     *
+     * @param minValue the min value
+     */
+    public void setMinValue(int minValue) {
+        setRange(minValue, maxValue);
+    }
+
+    /**
+     * Gets the wheel max value
+     *
+     * @return the max value
+     */
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Sets the wheel max value
+     *
+     * @param maxValue the max value
+     */
+    public void setMaxValue(int maxValue) {
+        setRange(minValue, maxValue);
+    }
+
+    /**
+     * Sets the wheel values. Observers are notified about the values added or removed at the ends,
+     * so a wheel keeps the items of values which are still in the range.
+     *
+     * @param minValue the wheel min value
+     * @param maxValue the wheel max value
+     */
+    public void setRange(int minValue, int maxValue) {
+        int oldMinValue = this.minValue;
+        int oldMaxValue = this.maxValue;
+        if (minValue == oldMinValue && maxValue == oldMaxValue) {
+            return;
+        }
+        int oldCount = getItemsCount();
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        moveItemTexts(minValue - oldMinValue);
+
+        if (oldCount <= 0 || getItemsCount() <= 0 || maxValue < oldMinValue || minValue > oldMaxValue) {
+            notifyDataChangedEvent();
+            return;
+        }
+
+        beginBatchUpdate();
+        if (maxValue > oldMaxValue) {
+            notifyItemRangeInserted(oldCount, maxValue - oldMaxValue);
+        } else if (maxValue < oldMaxValue) {
+            notifyItemRangeRemoved(oldCount - (oldMaxValue - maxValue), oldMaxValue - maxValue);
+        }
+        if (minValue < oldMinValue) {
+            notifyItemRangeInserted(0, oldMinValue - minValue);
+        } else if (minValue > oldMinValue) {
+            notifyItemRangeRemoved(0, minValue - oldMinValue);
+        }
+        endBatchUpdate();
+    }
+
+    /**
+     * Moves the cached texts after the min value is changed, texts of values still in the range are kept
+     *
+     * @param offset the count of items the old items are moved back by
+     */
+    private void moveItemTexts(int offset) {
+        if (itemTexts == null) {
+            return;
+        }
+        int count = getItemsCount();
+        if (count <= 0 || count > MAX_CACHED_ITEMS) {
+            itemTexts = null;
+            return;
+        }
+        if (offset == 0 && count <= itemTexts.length) {
+            return;
+        }
+
+        CharSequence[] moved = new CharSequence[count];
+        for (int i = Math.max(0, offset); i < itemTexts.length && i - offset < count; i++) {
+            moved[i - offset] = itemTexts[i];
+        }
+        itemTexts = moved;
+    }
+
+    /**
+     * Formats the texts of all items at once. Does nothing if the range is too large to be cached.
+     */
+    public void precomputeItemTexts() {
+        for (int i = 0; i < getItemsCount() && i < MAX_CACHED_ITEMS; i++) {
+            getItemText(i);
+        }
     }
 
     @Override
     public CharSequence getItemText(int index) {
         if (index >= 0 && index < getItemsCount()) {
-            int value = minValue + index;
-            return format != null ? String.format(format, value) : Integer.toString(value);
+            int count = getItemsCount();
+            if (itemTexts == null && count <= MAX_CACHED_ITEMS) {
+                itemTexts = new CharSequence[count];
+            }
+            if (itemTexts == null) {
+                return formatValue(minValue + index);
+            }
+
+            CharSequence text = itemTexts[index];
+            if (text == null) {
+                text = formatValue(minValue + index);
+                itemTexts[index] = text;
+            }
+            return text;
         }
         return null;
     }
 
+    /**
+     * Formats the value. Zero padded patterns are formatted without {@link java.util.Formatter}.
+     *
+     * @param value the value
+     * @return the formatted value
+     */
+    private String formatValue(int value) {
+        if (format == null) {
+            return Integer.toString(value);
+        }
+        if (formatWidth < 0 || value < 0) {
+            return String.format(format, value);
+        }
+
+        String digits = Integer.toString(value);
+        StringBuilder builder = new StringBuilder(formatPrefix.length() + formatWidth + formatSuffix.length());
+        builder.append(formatPrefix);
+        for (int i = digits.length(); i < formatWidth; i++) {
+            builder.append('0');
+        }
+        return builder.append(digits).append(formatSuffix).toString();
+    }
+
+    /**
+     * Recognizes the format with a single "%d" or "%0Nd" conversion. The localized digits are
+     * formatted by {@link String#format(String, Object...)}.
+     */
+    private void parseFormat() {
+        if (format == null || new DecimalFormatSymbols().getZeroDigit() != '0') {
+            return;
+        }
+        int start = format.indexOf('%');
+        if (start < 0 || format.indexOf('%', start + 1) >= 0) {
+            return;
+        }
+
+        int i = start + 1;
+        int width = 0;
+        if (i < format.length() && format.charAt(i) == '0') {
+            for (i++; i < format.length() && Character.isDigit(format.charAt(i)); i++) {
+                width = width * 10 + format.charAt(i) - '0';
+            }
+            if (width == 0) {
+                return;
+            }
+        }
+        if (i >= format.length() || format.charAt(i) != 'd') {
+            return;
+        }
+
+        formatPrefix = format.substring(0, start);
+        formatSuffix = format.substring(i + 1);
+        formatWidth = width;
+    }
+
     @Override
     public int getItemsCount() {
         return maxValue - minValue + 1;
@@ -0,0 +1,200 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+import android.content.Context;
+
+/**
+ * Adapter for huge or unbounded ranges addressed by long positions, for example timestamps.
+ * <p>The wheel sees a window of at most {@link #MAX_WINDOW_SIZE} items starting at a movable first position,
+ * texts are generated on demand for the positions in this window and are never materialized.
+ * Use {@link com.yanzhenjie.wheel.WheelView#setCurrentPosition(long, boolean)} to move to a position.</p>
+ */
+public abstract class VirtualWheelAdapter extends AbstractWheelTextAdapter implements WheelTextAdapter {
+
+    /**
+     * Maximum count of items the wheel sees at once. It leaves room for the item math of the wheel.
+     */
+    public static final int MAX_WINDOW_SIZE = 1 << 30;
+
+    // Position of the first item in window
+    private long firstPosition;
+
+    // Cyclic positions flag
+    private boolean isPositionsCyclic;
+
+    // Whether the window is placed around a position
+    private boolean isWindowPlaced;
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     */
+    protected VirtualWheelAdapter(Context context) {
+        super(context);
+    }
+
+    /**
+     * Gets count of positions, may be greater than {@link Integer#MAX_VALUE}.
+     *
+     * @return the count of positions
+     */
+    public abstract long getPositionsCount();
+
+    /**
+     * Returns text for specified position
+     *
+     * @param position the position, from 0 to {@link #getPositionsCount()} - 1
+     * @return the text of position
+     */
+    protected abstract CharSequence getPositionText(long position);
+
+    /**
+     * Tests if positions are cyclic. That means the first position follows the last one.
+     *
+     * @return true if positions are cyclic
+     */
+    public boolean isPositionsCyclic() {
+        return isPositionsCyclic;
+    }
+
+    /**
+     * Sets positions cyclic flag. Cyclic positions wrap inside of the window,
+     * so the wheel itself does not need to be cyclic.
+     *
+     * @param positionsCyclic the flag to set
+     */
+    public void setPositionsCyclic(boolean positionsCyclic) {
+        isPositionsCyclic = positionsCyclic;
+        isWindowPlaced = false;
+        notifyDataInvalidatedEvent();
+    }
+
+    @Override
+    public int getItemsCount() {
+        long count = getPositionsCount();
+        if (count <= 0) {
+            return 0;
+        }
+        return isPositionsCyclic ? MAX_WINDOW_SIZE : (int) Math.min(count, MAX_WINDOW_SIZE);
+    }
+
+    @Override
+    public CharSequence getItemText(int index) {
+        if (index >= 0 && index < getItemsCount()) {
+            return getPositionText(getPosition(index));
+        }
+        return null;
+    }
+
+    /**
+     * Gets position of the item
+     *
+     * @param index the item index in window
+     * @return the position
+     */
+    public long getPosition(int index) {
+        long position = firstPosition + index;
+        return isPositionsCyclic ? wrapPosition(position) : position;
+    }
+
+    /**
+     * Gets index of the position in window. Cyclic positions repeat in the window,
+     * the copy nearest to the middle of the window is returned.
+     *
+     * @param position the position
+     * @return the item index, or -1 if the position is out of the window
+     */
+    public int getIndex(long position) {
+        return getIndex(position, getItemsCount() / 2);
+    }
+
+    /**
+     * Gets index of the position in window. Cyclic positions repeat in the window,
+     * the copy nearest to specified index is returned.
+     *
+     * @param position  the position
+     * @param nearIndex the index in window to search from
+     * @return the item index, or -1 if the position is out of the window
+     */
+    public int getIndex(long position, int nearIndex) {
+        int windowSize = getItemsCount();
+        if (!isPositionsCyclic) {
+            long index = position - firstPosition;
+            return index >= 0 && index < windowSize ? (int) index : -1;
+        }
+        if (nearIndex < 0 || nearIndex >= windowSize) {
+            nearIndex = windowSize / 2;
+        }
+
+        // distances to the nearest copies after and before the index
+        long forward = wrapPosition(wrapPosition(position) - getPosition(nearIndex));
+        long backward = forward == 0 ? 0 : getPositionsCount() - forward;
+        boolean canForward = forward < windowSize - nearIndex;
+        boolean canBackward = backward <= nearIndex;
+        if (canForward && (!canBackward || forward <= backward)) {
+            return nearIndex + (int) forward;
+        }
+        return canBackward ? nearIndex - (int) backward : -1;
+    }
+
+    /**
+     * Tests if the window is placed around a position by {@link #moveWindowTo(long)}. A window of
+     * cyclic positions which is not placed starts at position 0, so the wheel can not scroll before it.
+     *
+     * @return true if the window is placed
+     */
+    public boolean isWindowPlaced() {
+        return isWindowPlaced;
+    }
+
+    /**
+     * Moves the window, so specified position is in its middle, and notifies observers about changed items.
+     *
+     * @param position the position
+     * @return the index of the position in new window
+     */
+    public int moveWindowTo(long position) {
+        long count = getPositionsCount();
+        int windowSize = getItemsCount();
+        long first = position - windowSize / 2;
+        if (isPositionsCyclic) {
+            first = wrapPosition(first);
+        } else {
+            first = Math.max(0, Math.min(first, count - windowSize));
+        }
+        isWindowPlaced = true;
+
+        if (first != firstPosition) {
+            firstPosition = first;
+            notifyDataChangedEvent();
+        }
+        return getIndex(position);
+    }
+
+    /**
+     * Wraps position into the range of positions
+     *
+     * @param position the position
+     * @return the position between 0 and count - 1
+     */
+    private long wrapPosition(long position) {
+        long count = getPositionsCount();
+        position %= count;
+        return position < 0 ? position + count : position;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+import android.database.DataSetObserver;
+
+/**
+ * Data set observer receiving fine-grained notifications from {@link AbstractWheelAdapter}.
+ * By default every notification is treated as {@link #onChanged()}.
+ */
+public abstract class WheelDataObserver extends DataSetObserver {
+    /**
+     * Called when the content of items in the range is changed
+     *
+     * @param start the index of the first changed item
+     * @param count the count of changed items
+     */
+    public void onItemRangeChanged(int start, int count) {
+        onChanged();
+    }
+
+    /**
+     * Called when items are inserted, items from the start are moved by the count
+     *
+     * @param start the index of the first inserted item
+     * @param count the count of inserted items
+     */
+    public void onItemRangeInserted(int start, int count) {
+        onChanged();
+    }
+
+    /**
+     * Called when items are removed, items after the range are moved back by the count
+     *
+     * @param start the index of the first removed item
+     * @param count the count of removed items
+     */
+    public void onItemRangeRemoved(int start, int count) {
+        onChanged();
+    }
+}
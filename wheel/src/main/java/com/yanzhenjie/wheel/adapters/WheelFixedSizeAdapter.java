@@ -0,0 +1,36 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+/**
+ * Wheel adapter whose items have the same size. The wheel does not measure the items, scrolling works
+ * with the declared size even before the items are laid out.
+ */
+public interface WheelFixedSizeAdapter extends WheelViewAdapter {
+    /**
+     * Gets width of every item
+     *
+     * @return the item width in pixels
+     */
+    int getItemWidth();
+
+    /**
+     * Gets height of every item
+     *
+     * @return the item height in pixels
+     */
+    int getItemHeight();
+}
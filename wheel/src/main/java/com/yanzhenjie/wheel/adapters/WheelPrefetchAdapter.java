@@ -0,0 +1,31 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+/**
+ * Wheel adapter which loads its items ahead of time. The wheel tells it which items it is going to show.
+ */
+public interface WheelPrefetchAdapter extends WheelViewAdapter {
+    /**
+     * Called when the wheel shows or is about to show specified items. Items out of range of a cyclic wheel
+     * are wrapped, items out of range of a not cyclic wheel are not shown.
+     *
+     * @param first  the index of the first item, may be negative
+     * @param last   the index of the last item, may exceed the count of items
+     * @param cyclic true if the wheel is cyclic
+     */
+    void prefetchItems(int first, int last, boolean cyclic);
+}
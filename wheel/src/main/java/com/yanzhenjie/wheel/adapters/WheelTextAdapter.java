@@ -0,0 +1,44 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+/**
+ * Wheel adapter whose items are plain text. A {@link com.yanzhenjie.wheel.WheelView} in canvas text mode
+ * draws the text of such adapter directly, without creating item views.
+ */
+public interface WheelTextAdapter extends WheelViewAdapter {
+    /**
+     * Returns text for specified item
+     *
+     * @param index the item index
+     * @return the text of specified items
+     */
+    CharSequence getItemText(int index);
+
+    /**
+     * Gets text color
+     *
+     * @return the text color
+     */
+    int getTextColor();
+
+    /**
+     * Gets text size in scaled pixels
+     *
+     * @return the text size
+     */
+    int getTextSize();
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright © Yan Zhenjie
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yanzhenjie.wheel.adapters;
+
+/**
+ * Wheel adapter creating more than one type of item views. Views of the same type are reused for each other,
+ * items of adapters not implementing this interface are all of type 0.
+ */
+public interface WheelViewTypeAdapter extends WheelViewAdapter {
+    /**
+     * Get the type of View that will be created by {@link #getItem(int, android.view.View, android.view.ViewGroup)}
+     * for the specified item.
+     *
+     * @param index the item index
+     * @return an integer representing the type of View, not less than 0
+     */
+    int getItemViewType(int index);
+}